@@ -20,8 +20,10 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.Compression;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.InitialiseSimulationWorkflowConfiguration;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.Locations;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.SnapshotFormat;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.jobs.InitialiseSimulationRootJob;
 import org.palladiosimulator.experimentautomation.application.ExperimentApplication;
 import org.palladiosimulator.experimentautomation.application.tooladapter.abstractsimulation.AbstractSimulationConfigFactory;
@@ -107,9 +109,9 @@ public class InitialisedSimulationApplication implements IApplication {
 
 		final SimuComConfig simuComconfig = new SimuComConfig(configMap, false);
 		
-		final Locations locations = new Locations(args.snapshotFile, args.otherConfigsFile, args.resultFolder, args.snapshotOutputFile, args.stateOutputFile);
+		final Locations locations = new Locations(args.snapshotFile, args.otherConfigsFile, args.resultFolder, args.snapshotOutputFile, args.stateOutputFile, args.contentStore);
 
-		final InitialiseSimulationWorkflowConfiguration config = new InitialiseSimulationWorkflowConfiguration(simuComconfig, locations, args.id);
+		final InitialiseSimulationWorkflowConfiguration config = new InitialiseSimulationWorkflowConfiguration(simuComconfig, locations, args.id, args.snapshotFormat, args.compression, args.maxDeltaChainLength);
 
 		this.setModelFilesInConfig(experiment, config);
 
@@ -248,6 +250,30 @@ public class InitialisedSimulationApplication implements IApplication {
 			
 			this.snapshotOutputFile = parseSnapshotOutputArg(mappedArgs);
 			this.stateOutputFile = parseStateOutputArg(mappedArgs);
+			this.contentStore = mappedArgs.containsKey(CONTENT_STORE) ? fromMapped(mappedArgs.get(CONTENT_STORE)) : null;
+			
+			this.snapshotFormat = mappedArgs.containsKey(SNAPSHOT_FORMAT) ? SnapshotFormat.fromName(mappedArgs.get(SNAPSHOT_FORMAT)) : SnapshotFormat.JSON;
+			this.compression = mappedArgs.containsKey(COMPRESSION) ? Compression.fromName(mappedArgs.get(COMPRESSION)) : Compression.NONE;
+			this.maxDeltaChainLength = mappedArgs.containsKey(DELTA_CHAIN) ? parseDeltaChain(mappedArgs.get(DELTA_CHAIN)) : 0;
+		}
+
+		/**
+		 * 
+		 * @param value maximum length of chains of delta snapshots, as given on the command line.
+		 * @return maximum length of chains of delta snapshots.
+		 */
+		private int parseDeltaChain(final String value) {
+			try {
+				final int length = Integer.parseInt(value);
+				if (length < 0) {
+					throw new IllegalArgumentException("The value of the " + DELTA_CHAIN
+							+ " option must not be negative, but is " + value + ".");
+				}
+				return length;
+			} catch (final NumberFormatException e) {
+				throw new IllegalArgumentException(
+						"The value of the " + DELTA_CHAIN + " option must be an integer, but is " + value + ".", e);
+			}
 		}
 
 		/**
@@ -318,7 +344,8 @@ public class InitialisedSimulationApplication implements IApplication {
 		 */
 		private Map<String, String> createArgumentsMap(final List<String> args) {
 			final Predicate<String> isValidThing = (final String s) -> s.equals(ID) || s.equals(OUTPUT)
-					|| s.equals(INPUT) || s.equals(SNAPSHOT) || s.equals(EXPERIMENTS) || s.equals(CONFIG) || s.equals(SNAPSHOT_OUTPUT) || s.equals(STATE_OUTPUT);
+					|| s.equals(INPUT) || s.equals(SNAPSHOT) || s.equals(EXPERIMENTS) || s.equals(CONFIG) || s.equals(SNAPSHOT_OUTPUT) || s.equals(STATE_OUTPUT)
+					|| s.equals(SNAPSHOT_FORMAT) || s.equals(COMPRESSION) || s.equals(DELTA_CHAIN) || s.equals(CONTENT_STORE);
 
 			final Map<String, String> mappedArgs = new HashMap<>();
 			for (int i = 0; i < args.size(); i = i + 2) {
@@ -418,6 +445,11 @@ public class InitialisedSimulationApplication implements IApplication {
 		
 		private final Path snapshotOutputFile;
 		private final Path stateOutputFile;
+		private final Path contentStore;
+		
+		private final SnapshotFormat snapshotFormat;
+		private final Compression compression;
+		private final int maxDeltaChainLength;
 
 		private static final String ID = "-id";
 
@@ -430,6 +462,11 @@ public class InitialisedSimulationApplication implements IApplication {
 		
 		private static final String SNAPSHOT_OUTPUT = "-outputSnapshot";
 		private static final String STATE_OUTPUT = "-outputState";
+		private static final String CONTENT_STORE = "-contentStore";
+		
+		private static final String SNAPSHOT_FORMAT = "-snapshotFormat";
+		private static final String COMPRESSION = "-compression";
+		private static final String DELTA_CHAIN = "-deltaChain";
 
 		private static final String SNAPSHOT_SFX = ".snapshot";
 		private static final String EXPERIMENTS_SFX = ".experiments";
@@ -11,6 +11,7 @@ import org.palladiosimulator.analyzer.slingshot.converter.data.Utility;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.InitState;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.ResultState;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.Snapshot;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.SnapshotMetrics;
 import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
 import org.palladiosimulator.edp2.models.ExperimentData.ExperimentSetting;
 import org.palladiosimulator.spd.ScalingPolicy;
@@ -44,6 +45,11 @@ public class StateBuilder {
 	private double duration = -1;
 	private Snapshot snapshot = null;
 
+	/* set after the snapshot was written, negative if unknown */
+	private double serialisationTime = -1;
+	private long bytesWritten = -1;
+	private long storeBytesWritten = -1;
+
 	/* set after configuration of the simulation run */
 	private ExperimentSetting experimentSetting = null;
 	
@@ -111,6 +117,21 @@ public class StateBuilder {
 	public void addReasonToLeave(final ReasonToLeave reasonToLeave) {
 		this.reasonsToLeave.add(reasonToLeave);
 	}
+
+	/**
+	 * Set the metrics on writing the snapshot.
+	 * 
+	 * @param serialisationTime time for serialising and writing the snapshot, in milliseconds.
+	 * @param bytesWritten      size of the written snapshot.
+	 * @param storeBytesWritten size of the blobs, that were added to the content
+	 *                          store for the snapshot.
+	 */
+	public void setSerialisationMetrics(final double serialisationTime, final long bytesWritten,
+			final long storeBytesWritten) {
+		this.serialisationTime = serialisationTime;
+		this.bytesWritten = bytesWritten;
+		this.storeBytesWritten = storeBytesWritten;
+	}
 	
 	/**
 	 * Build a new {@link ResultState} based on this builder.
@@ -131,13 +152,15 @@ public class StateBuilder {
 
 		final List<ScalingPolicy> policies = snapshot.getModelAdjustmentRequestedEvent().stream().map(e -> e.getScalingPolicy()).toList();
 		final List<MeasurementSet> measurements = new MeasurementConverter(0.0, duration).visitExperiementSetting(experimentSetting);
+		final SnapshotMetrics metrics = snapshot.getMetrics()
+				.map(m -> serialisationTime < 0 ? m : m.withSerialisation(serialisationTime, bytesWritten, storeBytesWritten)).orElse(null);
 
 		if (PCMResourcePartitionHelper.hasSLORepository(partition)) {
 			final Utility utility = Utility.createUtility(startTime, startTime + duration, measurements,
 					PCMResourcePartitionHelper.getSLORepository(partition).getServicelevelobjectives());
-			return new ResultState(startTime, measurements, duration, reasonsToLeave, parentId, policies, utility);
+			return new ResultState(startTime, measurements, duration, reasonsToLeave, parentId, policies, utility, metrics);
 		} else {
-			return new ResultState(startTime, measurements, duration, reasonsToLeave, parentId, policies, null);
+			return new ResultState(startTime, measurements, duration, reasonsToLeave, parentId, policies, null, metrics);
 		}
 	}
 	
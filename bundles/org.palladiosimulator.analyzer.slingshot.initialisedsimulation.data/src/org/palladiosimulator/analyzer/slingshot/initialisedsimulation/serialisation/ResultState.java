@@ -7,6 +7,7 @@ import java.util.UUID;
 import org.palladiosimulator.analyzer.slingshot.converter.data.MeasurementSet;
 import org.palladiosimulator.analyzer.slingshot.converter.data.Utility;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.graphstate.ReasonToLeave;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.SnapshotMetrics;
 import org.palladiosimulator.spd.ScalingPolicy;
 
 /**
@@ -30,6 +31,8 @@ public class ResultState {
 
 	private final List<MeasurementSet> measurementSets;
 
+	private final SnapshotMetrics snapshotMetrics;
+
 	/**
 	 * 
 	 * @param startTime start time of this state
@@ -39,8 +42,9 @@ public class ResultState {
 	 * @param parentId id of this state's parentstate.
 	 * @param outgoingPolicies policies that happend at the end of this simulation run. empty, if none happend. 
 	 * @param utility utility of this state.
+	 * @param snapshotMetrics metrics on taking and writing the snapshot at the end of this state, may be null.
 	 */
-	public ResultState(final double startTime, final List<MeasurementSet> measurementSets, final double duration, final Set<ReasonToLeave> reasonsToLeave, final String parentId, final List<ScalingPolicy> outgoingPolicies, final Utility utility) {
+	public ResultState(final double startTime, final List<MeasurementSet> measurementSets, final double duration, final Set<ReasonToLeave> reasonsToLeave, final String parentId, final List<ScalingPolicy> outgoingPolicies, final Utility utility, final SnapshotMetrics snapshotMetrics) {
 		this.parentId = parentId;
 		this.startTime = startTime;
 		this.reasonsToLeave = reasonsToLeave;
@@ -52,5 +56,6 @@ public class ResultState {
 		
 		this.utility = utility;
 		this.outgoingPolicyIds = outgoingPolicies.stream().map(ScalingPolicy::getId).toList();
+		this.snapshotMetrics = snapshotMetrics;
 	}
 }
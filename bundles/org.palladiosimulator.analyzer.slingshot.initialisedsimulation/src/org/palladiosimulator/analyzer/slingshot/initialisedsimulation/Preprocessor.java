@@ -1,6 +1,7 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -9,10 +10,10 @@ import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmentRequested;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorState;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.TargetGroupState;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.common.utils.PCMResourcePartitionHelper;
 import org.palladiosimulator.analyzer.slingshot.common.utils.ResourceUtils;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers.InitWrapper;
-import org.palladiosimulator.analyzer.slingshot.snapshot.api.Snapshot;
 import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
 import org.palladiosimulator.spd.SPD;
 import org.palladiosimulator.spd.ScalingPolicy;
@@ -43,15 +44,30 @@ public class Preprocessor {
 
 	private final SPD spd;
 	private final List<ScalingPolicy> policiesToProcess;
-	private final Snapshot snapshot;
+	private final Set<SPDAdjustorState> snapshotStates;
+	private final Iterator<DESEvent> snapshotEvents;
+	private final boolean snapshotEventsOrderedByDelay;
 	
-	public Preprocessor(final PCMResourceSetPartition partition, final Snapshot snapshot, final List<ScalingPolicy> policiesToProcess) {
+	/**
+	 * 
+	 * @param partition         models of the next simulation run.
+	 * @param snapshotStates    states of the SPD interpreter from the snapshot.
+	 * @param snapshotEvents    events from the snapshot, may still be parsed lazily.
+	 * @param snapshotEventsOrderedByDelay whether the events from the snapshot are ordered for deferred materialisation.
+	 * @param policiesToProcess policies to be applied at the beginning of the next simulation run.
+	 */
+	public Preprocessor(final PCMResourceSetPartition partition, final Set<SPDAdjustorState> snapshotStates,
+			final Iterator<DESEvent> snapshotEvents, final boolean snapshotEventsOrderedByDelay,
+			final List<ScalingPolicy> policiesToProcess) {
 		Preconditions.checkNotNull(partition);
-		Preconditions.checkNotNull(snapshot);
+		Preconditions.checkNotNull(snapshotStates);
+		Preconditions.checkNotNull(snapshotEvents);
 		Preconditions.checkNotNull(policiesToProcess);
 		
 		this.spd = PCMResourcePartitionHelper.getSPD(partition);
-		this.snapshot = snapshot;
+		this.snapshotStates = snapshotStates;
+		this.snapshotEvents = snapshotEvents;
+		this.snapshotEventsOrderedByDelay = snapshotEventsOrderedByDelay;
 		this.policiesToProcess = policiesToProcess;
 		this.deactivatePolicies();
 	}
@@ -69,10 +85,10 @@ public class Preprocessor {
 	 * @return
 	 */
 	public InitWrapper createWrapper() {
-		final Set<SPDAdjustorState> states = this.collectStates(snapshot);
+		final Set<SPDAdjustorState> states = this.collectStates(snapshotStates);
 		final List<ModelAdjustmentRequested> initialAdjustments = this.createInitialModelAdjustmentRequested();
 		
-		return new InitWrapper(initialAdjustments, states, snapshot.getEvents());
+		return new InitWrapper(initialAdjustments, states, snapshotEvents, snapshotEventsOrderedByDelay);
 	}
 	
 	/**
@@ -85,14 +101,14 @@ public class Preprocessor {
 	
 	/**
 	 * 
-	 * @param snapshot
+	 * @param oldStates
 	 * @return
 	 */
-	private Set<SPDAdjustorState> collectStates(final Snapshot snapshot) {
+	private Set<SPDAdjustorState> collectStates(final Set<SPDAdjustorState> oldStates) {
 			final Set<SPDAdjustorState> initValues = new HashSet<>();
 		
 			// process exisitng states
-			for (final SPDAdjustorState oldState : snapshot.getSPDAdjustorStates()) {
+			for (final SPDAdjustorState oldState : oldStates) {
 				if(policiesToProcess.contains(oldState.getScalingPolicy())) {
 					initValues.add(updateSPDStates(oldState));					
 				} else {
@@ -102,7 +118,7 @@ public class Preprocessor {
 			
 			// add new states, if none exist.
 			for (final ScalingPolicy policy : policiesToProcess) {
-				if(snapshot.getSPDAdjustorStates().stream().filter(value -> value.getScalingPolicy().equals(policy)).findAny().isEmpty()) {
+				if(oldStates.stream().filter(value -> value.getScalingPolicy().equals(policy)).findAny().isEmpty()) {
 					initValues.add(updateSPDStates(new SPDAdjustorState(policy, new TargetGroupState(policy.getTargetGroup()))));
 				}
 			}
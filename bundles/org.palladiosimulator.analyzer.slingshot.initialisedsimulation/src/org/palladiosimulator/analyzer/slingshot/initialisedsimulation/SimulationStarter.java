@@ -1,6 +1,9 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -8,16 +11,23 @@ import org.eclipse.emf.common.util.URI;
 import org.palladiosimulator.analyzer.slingshot.common.utils.PCMResourcePartitionHelper;
 import org.palladiosimulator.analyzer.slingshot.core.Slingshot;
 import org.palladiosimulator.analyzer.slingshot.core.api.SimulationDriver;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.Compression;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.Locations;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.SnapshotFormat;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.graphstate.ArchitectureConfigurationUtil;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.graphstate.StateBuilder;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers.AdditionalConfigurationModule;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers.InitWrapper;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.InitState;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.OtherInitThings;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser.CheckpointWriter;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser.ContentStore;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser.InitStateDeSerialization;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser.OtherStuffDeserialization;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser.PersistenceExecutor;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser.ResultStateSerialization;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser.SerializeParent;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser.StreamedInitState;
 import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotConfiguration;
 import org.palladiosimulator.analyzer.workflow.ConstantsContainer;
 import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
@@ -38,6 +48,17 @@ public class SimulationStarter {
 
 	private final SimulationDriver driver;
 	private final StateBuilder stateBuilder;
+	
+	/* kept open until the simulation started, to schedule events while they are still being parsed. */
+	private final StreamedInitState initstate;
+
+	private final Compression compression;
+
+	/* writes checkpoints, snapshot and state off the simulation thread. */
+	private final PersistenceExecutor persistence = new PersistenceExecutor();
+
+	/* reads the initial snapshot, writes checkpoints and the resulting snapshot. */
+	private final InitStateDeSerialization snapshotSerialization;
 
 	/**
 	 * Create a new {@link SimulationStarter} and already initiate the simulation driver.
@@ -48,10 +69,15 @@ public class SimulationStarter {
 	 * @param initStateLocation
 	 * @param otherLocation
 	 * @param resultLocation
+	 * @param snapshotFormat format for writing the resulting snapshot
+	 * @param compression compression for writing the resulting snapshot and state
+	 * @param maxDeltaChainLength maximum length of chains of delta snapshots, 0 to write full snapshots only.
 	 */
 	public SimulationStarter(final SimuComConfig config, final IProgressMonitor monitor,
-			final MDSDBlackboard blackboard, final Locations locations, final String nextStateId) {
+			final MDSDBlackboard blackboard, final Locations locations, final String nextStateId,
+			final SnapshotFormat snapshotFormat, final Compression compression, final int maxDeltaChainLength) {
 		super();
+		this.compression = compression;
 		this.initModels = (PCMResourceSetPartition) blackboard
 				.getPartition(ConstantsContainer.DEFAULT_PCM_INSTANCE_PARTITION_ID);
 
@@ -59,17 +85,25 @@ public class SimulationStarter {
 		final URI resultFolder = URI.createFileURI(locations.output().toString());
 		ArchitectureConfigurationUtil.copyToURI(initModels.getResourceSet(), resultFolder);
 
-		final InitState initstate = getInitState(locations.snapshotIn());
+		// indexes the models once, the index stays valid while the simulation changes the models.
+		this.snapshotSerialization = new InitStateDeSerialization(this.initModels, snapshotFormat,
+				compression, maxDeltaChainLength);
+
+		this.initstate = getInitState(locations.snapshotIn());
 		final OtherInitThings otherInitThings = getOthers(locations.configsIn());
 
-		final InitWrapper wrapper = new Preprocessor(this.initModels, initstate.getSnapshot(),
-				otherInitThings.getIncomingPolicies()).createWrapper();
+		final InitWrapper wrapper = new Preprocessor(this.initModels, initstate.getSPDAdjustorStates(),
+				initstate.getEvents(), initstate.isEventsOrderedByDelay(), otherInitThings.getIncomingPolicies())
+				.createWrapper();
 		final SnapshotConfiguration snaphshotConfig = new SnapshotConfiguration(initstate.getPointInTime() > 0.0, config.getSimuTime(), otherInitThings.getConfigurationParameters());
 		this.stateBuilder  = new StateBuilder(initstate.getId(), initstate.getPointInTime(), this.initModels, nextStateId);
 		AdditionalConfigurationModule.snapConfigProvider.set(snaphshotConfig);
 		AdditionalConfigurationModule.eventsToInitOnProvider.set(wrapper);
 		AdditionalConfigurationModule.defaultStateProvider.set(stateBuilder);
 
+		AdditionalConfigurationModule.checkpointSinkProvider.set(new CheckpointWriter(this.snapshotSerialization,
+				locations.snapshotOut(), initstate.getPointInTime(), nextStateId, persistence));
+
 		this.driver = Slingshot.getInstance().getSimulationDriver();
 		this.driver.init(config, monitor);
 	}
@@ -81,12 +115,14 @@ public class SimulationStarter {
 	 * this operation must only be called AFTER
 	 * {@link ArchitectureConfigurationUtil#copyToURI(org.eclipse.emf.ecore.resource.ResourceSet, URI)}. 
 	 * 
+	 * The events of the snapshot are not yet parsed, but only once they get
+	 * scheduled at the start of the simulation.
+	 * 
 	 * @param location location of the file to be loaded
 	 * @return state to initiate the simulator to
 	 */
-	private InitState getInitState(final Path location) {
-		final InitStateDeSerialization thing = new InitStateDeSerialization(this.initModels);
-		return thing.deserialize(location);
+	private StreamedInitState getInitState(final Path location) {
+		return snapshotSerialization.deserializeStreamed(location);
 	}
 
 	/**
@@ -103,15 +139,83 @@ public class SimulationStarter {
 	/**
 	 * Exectue the simulation and save the results to file.
 	 * 
+	 * The results are written asynchronously. The returned future completes, once
+	 * snapshot, state and all checkpoints are durable. The caller must wait for
+	 * it, before terminating.
+	 * 
 	 * @param resultLocation location to save the state and snapshot to.
+	 * @return future, that completes once all results are written.
 	 */
-	public void simulateSingleState(final Locations locations) {
+	public CompletableFuture<Void> simulateSingleState(final Locations locations) {
 		LOGGER.info("********** DefaultGraphExplorer.explore() **********");
 
-		driver.start();
+		try {
+			driver.start();
+		} finally {
+			this.closeInitState();
+		}
 		UpdateSPDUtil.reduceTriggerTime(PCMResourcePartitionHelper.getSPD(initModels), stateBuilder.getDuration());
 
-		(new InitStateDeSerialization(this.initModels)).serialize(stateBuilder.buildInitState(), locations.snapshotOut());
-		(new ResultStateSerialization()).serialize(stateBuilder.buildResultState(), locations.stateOut());
+		// the simulation is over, thus the states do not change anymore and can be serialised concurrently.
+		// the serializer writes to a temporary file, references are relative to the actual output.
+		final SerializeParent<InitState> serializer;
+		final ContentStore store = locations.contentStore() == null ? null : new ContentStore(locations.contentStore());
+		if (store != null) {
+			serializer = (state, path) -> snapshotSerialization.serializeToStore(state, store, path,
+					locations.snapshotOut());
+		} else {
+			serializer = (state, path) -> snapshotSerialization.serializeDelta(state, locations.snapshotIn(), path,
+					locations.snapshotOut());
+		}
+		final CompletableFuture<Path> snapshotWritten = persistence.persist(this.measured(serializer, store),
+				stateBuilder.buildInitState(), locations.snapshotOut());
+
+		// the state includes the metrics of writing the snapshot, thus it is built afterwards.
+		// it is written even if the snapshot fails, with the metrics of writing left unset.
+		persistence.persistAfter(snapshotWritten, new ResultStateSerialization(this.compression),
+				stateBuilder::buildResultState, locations.stateOut());
+
+		return persistence.shutdown();
+	}
+
+	/**
+	 * Wrap the given serializer, such that the time for serialising and the size
+	 * of the written file are saved to the {@link StateBuilder}.
+	 * 
+	 * If the snapshot is written to a content store, the size is the size of the
+	 * manifest, and the size of the blobs the snapshot added to the store is saved
+	 * separately.
+	 * 
+	 * @param serializer serializer for the snapshot.
+	 * @param store      store the serializer writes to, or null if there is none.
+	 * @return serializer, that saves the metrics of serialising.
+	 */
+	private SerializeParent<InitState> measured(final SerializeParent<InitState> serializer,
+			final ContentStore store) {
+		return (state, path) -> {
+			final long start = System.nanoTime();
+			final long storedBefore = store == null ? 0 : store.getBytesWritten();
+			serializer.serialize(state, path);
+			final long stored = store == null ? 0 : store.getBytesWritten() - storedBefore;
+			try {
+				stateBuilder.setSerialisationMetrics((System.nanoTime() - start) / 1e6, Files.size(path), stored);
+			} catch (final IOException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		};
+	}
+
+	/**
+	 * Close the file of the initial state, in case the simulation did not consume
+	 * all of its events.
+	 */
+	private void closeInitState() {
+		try {
+			this.initstate.close();
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
 	}
 }
@@ -0,0 +1,34 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration;
+
+import java.util.Arrays;
+
+/**
+ * Compressions for writing snapshot and state files.
+ *
+ * On reading, compressed files are detected from the file's content, thus
+ * compressed and uncompressed files can be read, regardless of the compression
+ * chosen for writing.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public enum Compression {
+	/** Write files as they are. */
+	NONE,
+	/** Write files with gzip compression. */
+	GZIP;
+
+	/**
+	 * Get the compression with the given name, ignoring the case.
+	 *
+	 * @param name name of the compression, e.g. "none" or "gzip"
+	 * @return compression with the given name.
+	 * @throws IllegalArgumentException if no compression with the given name
+	 *                                  exists.
+	 */
+	public static Compression fromName(final String name) {
+		return Arrays.stream(values()).filter(c -> c.name().equalsIgnoreCase(name)).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown compression \"" + name
+						+ "\". Expected one of " + Arrays.toString(values()) + "."));
+	}
+}
@@ -10,6 +10,9 @@ public class InitialiseSimulationWorkflowConfiguration extends SimulationWorkflo
 
 	private final Locations locations;
 	private final String nextStateId;
+	private final SnapshotFormat snapshotFormat;
+	private final Compression compression;
+	private final int maxDeltaChainLength;
 	
 	/**
 	 * Create a new Workflowconfiguration for running an initialised Slingshot simulation.
@@ -17,11 +20,17 @@ public class InitialiseSimulationWorkflowConfiguration extends SimulationWorkflo
 	 * @param configuration
 	 * @param locations
 	 * @param nextStateId
+	 * @param snapshotFormat format for writing the resulting snapshot.
+	 * @param compression compression for writing the resulting snapshot and state.
+	 * @param maxDeltaChainLength maximum length of chains of delta snapshots, 0 to write full snapshots only.
 	 */
-	public InitialiseSimulationWorkflowConfiguration(final SimuComConfig configuration, final Locations locations, final String nextStateId) {
+	public InitialiseSimulationWorkflowConfiguration(final SimuComConfig configuration, final Locations locations, final String nextStateId, final SnapshotFormat snapshotFormat, final Compression compression, final int maxDeltaChainLength) {
 		super(configuration);
 		this.locations = locations;
 		this.nextStateId = nextStateId;
+		this.snapshotFormat = snapshotFormat;
+		this.compression = compression;
+		this.maxDeltaChainLength = maxDeltaChainLength;
 	}
 
 	public Locations getLocations() {
@@ -31,4 +40,16 @@ public class InitialiseSimulationWorkflowConfiguration extends SimulationWorkflo
 	public String getNextStateId() {
 		return this.nextStateId;
 	}
+	
+	public SnapshotFormat getSnapshotFormat() {
+		return this.snapshotFormat;
+	}
+	
+	public Compression getCompression() {
+		return this.compression;
+	}
+	
+	public int getMaxDeltaChainLength() {
+		return this.maxDeltaChainLength;
+	}
 }
@@ -3,10 +3,13 @@ package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configura
 import java.nio.file.Path;
 
 /**
+ * 
+ * @param contentStore location of the content store to write the snapshot to,
+ *                     or null, to write the snapshot to a single file.
  * 
  * @author Sophie Stiess
  *
  */
-public record Locations(Path snapshotIn, Path configsIn, Path output, Path snapshotOut, Path stateOut) {
+public record Locations(Path snapshotIn, Path configsIn, Path output, Path snapshotOut, Path stateOut, Path contentStore) {
 
 }
@@ -0,0 +1,34 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration;
+
+import java.util.Arrays;
+
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary.BinaryFormat;
+
+/**
+ * Formats for writing snapshot files.
+ *
+ * On reading, the format is detected from the file's content, thus files of
+ * either format can be read, regardless of the format chosen for writing.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public enum SnapshotFormat {
+	/** JSON, as defined by {@code json-schema/snapshot.schema.json}. */
+	JSON,
+	/** Compact binary encoding of the JSON, c.f. {@link BinaryFormat}. */
+	BINARY;
+
+	/**
+	 * Get the format with the given name, ignoring the case.
+	 *
+	 * @param name name of the format, e.g. "json" or "binary"
+	 * @return format with the given name.
+	 * @throws IllegalArgumentException if no format with the given name exists.
+	 */
+	public static SnapshotFormat fromName(final String name) {
+		return Arrays.stream(values()).filter(f -> f.name().equalsIgnoreCase(name)).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown snapshot format \"" + name
+						+ "\". Expected one of " + Arrays.toString(values()) + "."));
+	}
+}
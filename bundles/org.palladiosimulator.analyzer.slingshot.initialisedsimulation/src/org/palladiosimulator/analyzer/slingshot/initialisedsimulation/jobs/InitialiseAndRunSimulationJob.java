@@ -1,5 +1,8 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.jobs;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.palladiosimulator.analyzer.slingshot.core.Slingshot;
@@ -49,15 +52,25 @@ public class InitialiseAndRunSimulationJob implements IBlackboardInteractingJob<
 		this.pcmResourceSetPartitionProvider.set(partition);
 
 		LOGGER.debug("monitor: " + monitor.getClass().getName());
-		monitor.beginTask("Start Simulation", 3);
+		monitor.beginTask("Start Simulation", 4);
 
 		monitor.subTask("Initialize driver");
 		final SimulationStarter explorer = new SimulationStarter(this.configuration.getSimuComConfig(), monitor,
-				this.blackboard, this.configuration.getLocations(), this.configuration.getNextStateId());
+				this.blackboard, this.configuration.getLocations(), this.configuration.getNextStateId(),
+				this.configuration.getSnapshotFormat(), this.configuration.getCompression(),
+				this.configuration.getMaxDeltaChainLength());
 		monitor.worked(1);
 
 		monitor.subTask("Start simulation");
-		explorer.simulateSingleState(this.configuration.getLocations());
+		final CompletableFuture<Void> persisted = explorer.simulateSingleState(this.configuration.getLocations());
+		monitor.worked(1);
+
+		monitor.subTask("Persist results");
+		try {
+			persisted.join();
+		} catch (final CompletionException e) {
+			throw new JobFailedException("Failed to persist the results.", e.getCause());
+		}
 		monitor.worked(1);
 
 		monitor.subTask("Restore");
@@ -2,6 +2,7 @@ package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers
 
 import org.palladiosimulator.analyzer.slingshot.core.extension.AbstractSlingshotExtension;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.graphstate.StateBuilder;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.CheckpointSink;
 import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotConfiguration;
 
 /**
@@ -16,6 +17,7 @@ public class AdditionalConfigurationModule extends AbstractSlingshotExtension{
 	public static final SnapshotConfigurationProvider snapConfigProvider = new SnapshotConfigurationProvider();
 	public static final ExploredStateBuilderProvider defaultStateProvider = new ExploredStateBuilderProvider();
 	public static final EventsToInitOnProvider eventsToInitOnProvider = new EventsToInitOnProvider();
+	public static final CheckpointSinkProvider checkpointSinkProvider = new CheckpointSinkProvider();
 
 	public AdditionalConfigurationModule() {
 	}
@@ -25,6 +27,7 @@ public class AdditionalConfigurationModule extends AbstractSlingshotExtension{
 		bind(SnapshotConfiguration.class).toProvider(snapConfigProvider);
 		bind(StateBuilder.class).toProvider(defaultStateProvider);
 		bind(InitWrapper.class).toProvider(eventsToInitOnProvider);
+		bind(CheckpointSink.class).toProvider(checkpointSinkProvider);
 	}
 
 	@Override
@@ -0,0 +1,29 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers;
+
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.CheckpointSink;
+
+/**
+ * Provides the {@link CheckpointSink} for writing the checkpoints of a
+ * simulation run.
+ *
+ * @author Sophie Stieß
+ *
+ */
+@Singleton
+public class CheckpointSinkProvider implements Provider<CheckpointSink> {
+
+	private CheckpointSink sink;
+
+	public void set(final CheckpointSink sink) {
+		this.sink = sink;
+	}
+
+	@Override
+	public CheckpointSink get() {
+		return sink;
+	}
+
+}
@@ -1,5 +1,6 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -26,19 +27,31 @@ public class InitWrapper {
 	private final List<ModelAdjustmentRequested> adjustmentEvents;
 	
 	private final Set<SPDAdjustorState> states;
-	private final Set<DESEvent> otherEvents;
+	
+	/**
+	 * User and request events. Possibly parsed lazily, thus they can only be consumed once.
+	 */
+	private final Iterator<DESEvent> otherEvents;
+
+	/**
+	 * Whether the other events are ordered for deferred materialisation.
+	 */
+	private final boolean otherEventsOrderedByDelay;
 
 	/**
 	 * Create a wrapper around the event to initialise a simulation run. 
 	 * 
 	 * @param adjustmentEvents Adjustments to be applied at the beginning of the simulation run.
 	 * @param states Values to initialise the states of the SPD interpreter.
-	 * @param otherEvents User and request events for the simulation run.
+	 * @param otherEvents User and request events for the simulation run, may be parsed lazily.
+	 * @param otherEventsOrderedByDelay whether the user and request events are ordered for deferred materialisation.
 	 */
-	public InitWrapper(final List<ModelAdjustmentRequested> adjustmentEvents, final Set<SPDAdjustorState> states, final Set<DESEvent> otherEvents) {
+	public InitWrapper(final List<ModelAdjustmentRequested> adjustmentEvents, final Set<SPDAdjustorState> states,
+			final Iterator<DESEvent> otherEvents, final boolean otherEventsOrderedByDelay) {
 		
 		this.adjustmentEvents = adjustmentEvents;
 		this.otherEvents = otherEvents;
+		this.otherEventsOrderedByDelay = otherEventsOrderedByDelay;
 		this.states = states;
 	}
 
@@ -50,9 +63,25 @@ public class InitWrapper {
 		return states;
 	}
 
-	public Set<DESEvent> getOtherEvents() {
+	/**
+	 * Beware, the events can only be consumed once.
+	 * 
+	 * @return user and request events for the simulation run.
+	 */
+	public Iterator<DESEvent> getOtherEvents() {
 		return otherEvents;
 	}
 
+	/**
+	 * If true, all user and request events that are {@code InterArrivalUserInitiated}
+	 * come last, ordered by their delay. Thus, they can be pulled from the
+	 * iterator only once the simulation time approaches their delay.
+	 * 
+	 * @return true, iff the user and request events are ordered for deferred materialisation.
+	 */
+	public boolean isOtherEventsOrderedByDelay() {
+		return otherEventsOrderedByDelay;
+	}
+
 
 }
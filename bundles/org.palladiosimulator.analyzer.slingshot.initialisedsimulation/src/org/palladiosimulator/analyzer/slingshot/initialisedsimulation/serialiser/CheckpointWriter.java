@@ -0,0 +1,78 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
+
+import java.nio.file.Path;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorState;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.InitState;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.CheckpointSink;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.Snapshot;
+
+/**
+ * Writes checkpoints to files next to the final snapshot.
+ *
+ * A checkpoint is written as {@link InitState}, thus a simulation can be
+ * initialised from it, just like from the final snapshot. The checkpoint taken
+ * at simulated time {@code t} of a simulation that writes its final snapshot to
+ * {@code <name>.snapshot} is written to {@code <name>_<t>.snapshot} in the same
+ * directory.
+ *
+ * The checkpoint is captured right away, on the simulation thread, because the
+ * snapshot refers to the running simulation. Capturing visits all entities of
+ * the snapshot, thus the simulation is paused for as long as that takes.
+ * Encoding, compressing and writing the captured checkpoint is left to the
+ * {@link PersistenceExecutor}, whose bound on pending writes also covers the
+ * captured checkpoints.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class CheckpointWriter implements CheckpointSink {
+
+	private static final String SUFFIX = ".snapshot";
+
+	private final InitStateDeSerialization serialization;
+	private final Path directory;
+	private final String baseName;
+	private final double startTime;
+	private final String stateId;
+
+	private final PersistenceExecutor persistence;
+
+	/**
+	 * Create a writer for the checkpoints of one simulation run.
+	 *
+	 * @param serialization serializer to serialise the checkpoints with.
+	 * @param snapshotOut   location of the final snapshot, the checkpoints are
+	 *                      written next to it.
+	 * @param startTime     point in time the simulation run started at.
+	 * @param stateId       id of the state the checkpoints are taken for.
+	 * @param persistence   executor for writing the serialised checkpoints.
+	 */
+	public CheckpointWriter(final InitStateDeSerialization serialization, final Path snapshotOut,
+			final double startTime, final String stateId, final PersistenceExecutor persistence) {
+		final Path absolute = snapshotOut.toAbsolutePath();
+		final String fileName = absolute.getFileName().toString();
+
+		this.serialization = serialization;
+		this.directory = absolute.getParent();
+		this.baseName = fileName.endsWith(SUFFIX) ? fileName.substring(0, fileName.length() - SUFFIX.length())
+				: fileName;
+		this.startTime = startTime;
+		this.stateId = stateId;
+		this.persistence = persistence;
+	}
+
+	@Override
+	public SPDAdjustorState copy(final SPDAdjustorState state) {
+		return serialization.copy(state);
+	}
+
+	@Override
+	public void write(final double pointInTime, final Snapshot snapshot) {
+		final double absoluteTime = startTime + pointInTime;
+		final Path target = directory.resolve(String.format("%s_%s%s", baseName, absoluteTime, SUFFIX));
+
+		persistence.persistCaptured(serialization::serializeCaptured,
+				() -> serialization.capture(new InitState(absoluteTime, snapshot, stateId)), target);
+	}
+}
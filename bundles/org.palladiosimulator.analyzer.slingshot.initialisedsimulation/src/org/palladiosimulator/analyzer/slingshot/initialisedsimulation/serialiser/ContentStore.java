@@ -0,0 +1,132 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Store of immutable blobs, addressed by the SHA-256 hash of their content.
+ *
+ * Each blob is stored once, no matter how often it is put into the store.
+ * Blobs are located at {@code <root>/<first two characters of hash>/<hash>}.
+ * Thus, the store can be shared by multiple simulation runs, even if they run
+ * concurrently, and by multiple processes.
+ *
+ * Blobs are written to a temporary file, forced to the storage device and
+ * moved to their location. Thus, a blob at its location is always complete,
+ * even if the process is terminated while writing.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class ContentStore {
+	private static final Logger LOGGER = Logger.getLogger(ContentStore.class);
+
+	private static final String ALGORITHM = "SHA-256";
+	private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+	private final Path root;
+
+	/* bytes of the blobs, that this instance added to the store. */
+	private final AtomicLong bytesWritten = new AtomicLong();
+
+	/**
+	 * Create a store at the given location. The location is created on the first
+	 * write, if it does not exist yet.
+	 *
+	 * @param root location of the store.
+	 */
+	public ContentStore(final Path root) {
+		this.root = root.toAbsolutePath().normalize();
+	}
+
+	/**
+	 * @return location of the store.
+	 */
+	public Path getRoot() {
+		return root;
+	}
+
+	/**
+	 * Get the number of bytes this instance added to the store.
+	 *
+	 * Blobs, that already were in the store, are not counted.
+	 *
+	 * @return bytes of the blobs, that this instance added to the store.
+	 */
+	public long getBytesWritten() {
+		return bytesWritten.get();
+	}
+
+	/**
+	 * Put the given content into the store, if it is not yet in the store.
+	 *
+	 * @param content content of the blob.
+	 * @return hash to address the blob with.
+	 */
+	public String put(final byte[] content) {
+		final String hash = hash(content);
+		final Path location = this.locate(hash);
+
+		if (Files.exists(location)) {
+			return hash;
+		}
+
+		try {
+			Files.createDirectories(location.getParent());
+			final Path temporary = Files.createTempFile(location.getParent(), hash, ".tmp");
+			try {
+				try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+					final ByteBuffer buffer = ByteBuffer.wrap(content);
+					while (buffer.hasRemaining()) {
+						channel.write(buffer);
+					}
+					channel.force(true);
+				}
+				Files.move(temporary, location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporary);
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+		bytesWritten.addAndGet(content.length);
+		LOGGER.debug(String.format("Stored blob %s of %d bytes.", hash, content.length));
+		return hash;
+	}
+
+	/**
+	 * Get the location of the blob with the given hash.
+	 *
+	 * @param hash hash of the blob.
+	 * @return location of the blob, regardless of whether the blob exists.
+	 * @throws IllegalArgumentException if the given hash is not a valid hash.
+	 */
+	public Path locate(final String hash) {
+		if (!HASH.matcher(hash).matches()) {
+			throw new IllegalArgumentException(String.format("Invalid hash %s.", hash));
+		}
+		return root.resolve(hash.substring(0, 2)).resolve(hash);
+	}
+
+	private static String hash(final byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance(ALGORITHM).digest(content));
+		} catch (final NoSuchAlgorithmException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+}
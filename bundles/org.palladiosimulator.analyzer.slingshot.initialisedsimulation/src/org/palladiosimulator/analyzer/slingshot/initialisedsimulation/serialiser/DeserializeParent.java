@@ -1,9 +1,15 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
 
 /**
  * 
@@ -13,13 +19,64 @@ import java.nio.file.Path;
 public interface DeserializeParent<T>{	
 	
 	public T deserialize(final Path path);
-		
-	default String read(final File file) {
+
+	/**
+	 * Open a buffered reader on the given file, for reading the file
+	 * incrementally instead of reading the entire content into a string first.
+	 * 
+	 * If the file is gzip compressed, the reader decompresses the file's content.
+	 *
+	 * The caller is responsible for closing the reader.
+	 *
+	 * @param file file to read from.
+	 * @return buffered reader on the given file.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	default Reader openReader(final File file) throws IOException {
+		return new BufferedReader(new InputStreamReader(openInputStream(file), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Open an input stream on the given file, for reading formats other
+	 * than plain text. The stream supports marks.
+	 * 
+	 * The file is memory-mapped, c.f. {@link MappedInputStream}, thus reading
+	 * neither copies the file to the heap, nor buffers it a second time.
+	 * 
+	 * If the file is gzip compressed, the stream decompresses the file's content.
+	 *
+	 * The caller is responsible for closing the stream.
+	 *
+	 * @param file file to read from.
+	 * @return input stream on the (decompressed) content of the given file.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	default InputStream openInputStream(final File file) throws IOException {
+		final InputStream in = new MappedInputStream(file.toPath());
 		try {
-			return Files.readString(file.toPath());
+			if (isGzip(in)) {
+				return new BufferedInputStream(new GZIPInputStream(in));
+			}
 		} catch (final IOException e) {
-			e.printStackTrace();
-			throw new RuntimeException(e);
+			in.close();
+			throw e;
 		}
+		return in;
+	}
+
+	/**
+	 * Check whether the given stream starts with the gzip magic bytes, without
+	 * consuming any bytes.
+	 *
+	 * @param in stream to check, must support marks.
+	 * @return true, iff the stream is gzip compressed.
+	 * @throws IOException if reading the stream fails.
+	 */
+	private static boolean isGzip(final InputStream in) throws IOException {
+		in.mark(2);
+		final int first = in.read();
+		final int second = in.read();
+		in.reset();
+		return first == (GZIPInputStream.GZIP_MAGIC & 0xFF) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
 	}
 }
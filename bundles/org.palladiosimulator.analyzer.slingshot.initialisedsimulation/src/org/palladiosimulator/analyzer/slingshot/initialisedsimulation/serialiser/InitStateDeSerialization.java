@@ -1,31 +1,59 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorState;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.InterArrivalUserInitiated;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.Compression;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.SnapshotFormat;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.graphstate.ArchitectureConfigurationUtil;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.InitState;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.Snapshot;
 import org.palladiosimulator.analyzer.slingshot.snapshot.entities.PlainSnapshot;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.EObjectTypeAdapter;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.ModelElementIndex;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary.BinaryFormat;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary.BinaryJsonReader;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary.BinaryJsonWriter;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.DESEventSerializer;
 import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * 
@@ -42,30 +70,738 @@ public final class InitStateDeSerialization implements DeserializeParent<InitSta
 	private final static String SNAPSHOT_FILEDNAME_EVENTS = "events";
 	private final static String SNAPSHOT_FILEDNAME_STATES = "statevalues";
 	
+	private final static String INITSTATE_FIELDNAME_ID = "id";
+	private final static String INITSTATE_FIELDNAME_TIME = "pointInTime";
+	private final static String INITSTATE_FIELDNAME_SNAPSHOT = "snapshot";
+	private final static String INITSTATE_FIELDNAME_PARENT = "parent";
+	private final static String SNAPSHOT_FILEDNAME_INHERITED = "inheritedstatevalues";
+	private final static String INITSTATE_FIELDNAME_STORE = "store";
+	private final static String SNAPSHOT_FILEDNAME_STATE_HASHES = "statevaluehashes";
+	private final static String SNAPSHOT_FILEDNAME_EVENT_HASHES = "eventhashes";
+	private final static String SNAPSHOT_FILEDNAME_ORDER = "eventorder";
+	private final static String ORDER_BY_DELAY = "delay";
+
+	private final static Type STATES_TYPE = new TypeToken<Set<SPDAdjustorState>>() {
+	}.getType();
+	private final static Type INDICES_TYPE = new TypeToken<List<Integer>>() {
+	}.getType();
+	private final static Type HASHES_TYPE = new TypeToken<List<String>>() {
+	}.getType();
+
+	/** Default maximum length of chains of delta snapshots. */
+	public final static int DEFAULT_MAX_CHAIN_LENGTH = 8;
+	
 	private final PCMResourceSetPartition partition;
 
 	private final DESEventSerializer eventSerializer;
 	
 	private final Gson gson;
 	
+	private final SnapshotFormat format;
+	private final Compression compression;
+	private final int maxChainLength;
+	
+	/**
+	 * Create a (de)serializer, that writes uncompressed JSON.
+	 * 
+	 * @param partition models referenced by the states.
+	 */
 	public InitStateDeSerialization(final PCMResourceSetPartition partition) {
+		this(partition, SnapshotFormat.JSON, Compression.NONE);
+	}
+	
+	/**
+	 * Create a (de)serializer, that writes the given format with the given compression.
+	 * 
+	 * Reading always detects format and compression from the file.
+	 * 
+	 * @param partition   models referenced by the states.
+	 * @param format      format for writing states.
+	 * @param compression compression for writing states.
+	 */
+	public InitStateDeSerialization(final PCMResourceSetPartition partition, final SnapshotFormat format, final Compression compression) {
+		this(partition, format, compression, DEFAULT_MAX_CHAIN_LENGTH);
+	}
+
+	/**
+	 * Create a (de)serializer, that writes the given format with the given
+	 * compression, and writes chains of delta snapshots up to the given length.
+	 * 
+	 * Reading resolves chains of any length, regardless of the given length.
+	 * 
+	 * @param partition      models referenced by the states.
+	 * @param format         format for writing states.
+	 * @param compression    compression for writing states.
+	 * @param maxChainLength maximum number of deltas between a full snapshot and
+	 *                       any delta, 0 to write full snapshots only.
+	 */
+	public InitStateDeSerialization(final PCMResourceSetPartition partition, final SnapshotFormat format,
+			final Compression compression, final int maxChainLength) {
 		super();
 		this.partition = partition;
-		this.eventSerializer = new DESEventSerializer(partition.getAllocation().eResource().getResourceSet());
+		this.format = format;
+		this.compression = compression;
+		this.maxChainLength = maxChainLength;
+
+		final ResourceSet set = partition.getAllocation().eResource().getResourceSet();
+		// index only whitelisted models, the index is then shared by all adapters of the set.
+		ModelElementIndex.of(set, ArchitectureConfigurationUtil::isWhitelisted);
+		this.eventSerializer = new DESEventSerializer(set);
 				
 		this.gson = createGson();
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * Delta snapshots are resolved against their parents, c.f.
+	 * {@link InitStateDeSerialization#serializeDelta(InitState, Path, Path, Path)}.
+	 */
 	@Override
 	public InitState deserialize(final Path path) {
-		final String read = read(path.toFile());
-		return gson.fromJson(read, InitState.class);
+		try (final StreamedInitState streamed = this.deserializeStreamed(path)) {
+			final Set<DESEvent> events = new LinkedHashSet<>();
+			streamed.getEvents().forEachRemaining(events::add);
+			return new InitState(streamed.getPointInTime(),
+					new PlainSnapshot(events, streamed.getSPDAdjustorStates()), streamed.getId());
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+	
+	/**
+	 * Deserialize the state at the given location incrementally.
+	 * 
+	 * Id, point in time and the states of the SPD interpreter are read right away,
+	 * but the events are parsed only while iterating over
+	 * {@link StreamedInitState#getEvents()}. The file stays open until all events
+	 * are consumed or the returned state is closed.
+	 * 
+	 * Requires the states to precede the events in the snapshot, as they do in
+	 * all files written by {@link InitStateDeSerialization#serialize(InitState, Path)}.
+	 * Otherwise, the events are read eagerly, to get to the states.
+	 * 
+	 * If the state is a delta snapshot, the states of the SPD interpreter are
+	 * resolved against the chain of parents right away.
+	 * 
+	 * @param path location of the state to be read.
+	 * @return partially read state.
+	 */
+	public StreamedInitState deserializeStreamed(final Path path) {
+		try {
+			final JsonReader reader = this.openJsonReader(path);
+			try {
+				return this.readStreamed(reader, path);
+			} catch (final IOException | RuntimeException e) {
+				reader.close();
+				throw e;
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Read the given reader up until the start of the events of the snapshot.
+	 * 
+	 * @param reader reader positioned at the beginning of a serialised {@link InitState}.
+	 * @param path   location of the state, to resolve the parent of delta snapshots against.
+	 * @return state, with the events backed by the given reader.
+	 * @throws IOException if reading fails.
+	 */
+	private StreamedInitState readStreamed(final JsonReader reader, final Path path) throws IOException {
+		String id = null;
+		Double pointInTime = null;
+		String parent = null;
+		ContentStore store = null;
+		JsonArray stateValues = null;
+		List<Integer> inherited = List.of();
+		List<DESEvent> eagerEvents = null;
+		boolean orderedByDelay = false;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String name = reader.nextName();
+			if (name.equals(INITSTATE_FIELDNAME_ID)) {
+				id = reader.nextString();
+			} else if (name.equals(INITSTATE_FIELDNAME_TIME)) {
+				pointInTime = reader.nextDouble();
+			} else if (name.equals(INITSTATE_FIELDNAME_PARENT)) {
+				parent = reader.nextString();
+			} else if (name.equals(INITSTATE_FIELDNAME_STORE)) {
+				store = resolveStore(path, reader.nextString());
+			} else if (name.equals(INITSTATE_FIELDNAME_SNAPSHOT)) {
+				reader.beginObject();
+				while (reader.hasNext()) {
+					final String snapshotName = reader.nextName();
+					if (snapshotName.equals(SNAPSHOT_FILEDNAME_STATES)) {
+						stateValues = gson.fromJson(reader, JsonArray.class);
+					} else if (snapshotName.equals(SNAPSHOT_FILEDNAME_STATE_HASHES)) {
+						stateValues = this.loadStateValues(requireStore(store, path), gson.fromJson(reader, HASHES_TYPE));
+					} else if (snapshotName.equals(SNAPSHOT_FILEDNAME_INHERITED)) {
+						inherited = gson.fromJson(reader, INDICES_TYPE);
+					} else if (snapshotName.equals(SNAPSHOT_FILEDNAME_ORDER)) {
+						orderedByDelay = ORDER_BY_DELAY.equals(reader.nextString());
+					} else if (snapshotName.equals(SNAPSHOT_FILEDNAME_EVENT_HASHES)) {
+						if (id == null || pointInTime == null || stateValues == null) {
+							throw new JsonParseException("Expected id, point in time and states before the events of the manifest.");
+						}
+						final Set<SPDAdjustorState> states = this.toStates(this.resolveStateValues(path, parent, stateValues, inherited));
+						final ContentStore eventStore = requireStore(store, path);
+						final List<String> eventHashes = gson.fromJson(reader, HASHES_TYPE);
+						final Iterator<DESEvent> events = eventSerializer.deserializeEach(eventHashes.iterator(),
+								hash -> this.openJsonReader(eventStore.locate(hash)));
+						return new StreamedInitState(id, pointInTime, states, events, orderedByDelay, reader);
+					} else if (snapshotName.equals(SNAPSHOT_FILEDNAME_EVENTS) && stateValues != null) {
+						if (id == null || pointInTime == null) {
+							throw new JsonParseException("Expected id and point in time before the snapshot.");
+						}
+						final Set<SPDAdjustorState> states = this.toStates(this.resolveStateValues(path, parent, stateValues, inherited));
+						return new StreamedInitState(id, pointInTime, states, eventSerializer.deserialize(reader),
+								orderedByDelay, reader);
+					} else if (snapshotName.equals(SNAPSHOT_FILEDNAME_EVENTS)) {
+						LOGGER.debug("Events precede states in snapshot, fall back to reading events eagerly.");
+						eagerEvents = new ArrayList<>();
+						eventSerializer.deserialize(reader).forEachRemaining(eagerEvents::add);
+					} else {
+						reader.skipValue();
+					}
+				}
+				reader.endObject();
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if (id == null || pointInTime == null || stateValues == null || eagerEvents == null) {
+			throw new JsonParseException("Incomplete state, expected id, point in time, states and events.");
+		}
+		final Set<SPDAdjustorState> states = this.toStates(this.resolveStateValues(path, parent, stateValues, inherited));
+		final Iterator<DESEvent> events = eagerEvents.iterator();
+		return new StreamedInitState(id, pointInTime, states, events, false, reader);
+	}
+
+	/**
+	 * Serialize the given state to the given content store, and write a manifest
+	 * of the stored content to the given location.
+	 * 
+	 * Each state of the SPD interpreter and each event is stored as a blob of its
+	 * own. The manifest references the blobs by their hashes, and the store by its
+	 * location relative to the manifest. Thus, states and events shared by
+	 * multiple snapshots are stored only once.
+	 * 
+	 * Events are stored in canonical form, c.f.
+	 * {@link DESEventSerializer#serializeEach(Set, java.util.function.Function)},
+	 * i.e. without their per-run ids, and with entities shared with preceding
+	 * events referenced by the hash of the preceding event's blob. Thus, an event
+	 * is deduplicated, if it and all events it shares entities with are unchanged.
+	 * 
+	 * @param state state to be serialized.
+	 * @param store store for the content of the state.
+	 * @param path  location to write the manifest to.
+	 */
+	public void serializeToStore(final InitState state, final ContentStore store, final Path path) {
+		this.serializeToStore(state, store, path, path);
+	}
+
+	/**
+	 * Serialize the given state to the given content store, and write a manifest
+	 * of the stored content to the given location, that is finally moved to the
+	 * given target.
+	 * 
+	 * @param state  state to be serialized.
+	 * @param store  store for the content of the state.
+	 * @param path   location to write the manifest to, e.g. a temporary file.
+	 * @param target location the manifest is finally moved to, the reference to
+	 *               the store is relative to it.
+	 * @see InitStateDeSerialization#serializeToStore(InitState, ContentStore, Path)
+	 */
+	public void serializeToStore(final InitState state, final ContentStore store, final Path path,
+			final Path target) {
+		final List<String> stateHashes = new ArrayList<>();
+		for (final SPDAdjustorState spdState : state.getSnapshot().getSPDAdjustorStates()) {
+			final JsonElement value = gson.toJsonTree(spdState, SPDAdjustorState.class);
+			stateHashes.add(store.put(this.toBytes(out -> gson.toJson(value, out), List.of())));
+		}
+		final List<String> eventHashes = eventSerializer.serializeEach(orderByDelay(state.getSnapshot().getEvents()),
+				event -> store.put(this.toBytes(out -> gson.toJson(event, out), List.of())));
+
+		final Path directory = target.toAbsolutePath().getParent();
+
+		try (final JsonWriter out = this.openJsonWriter(path, List.of())) {
+			out.beginObject();
+			out.name(INITSTATE_FIELDNAME_ID).value(state.getId());
+			out.name(INITSTATE_FIELDNAME_TIME).value(state.getPointInTime());
+			out.name(INITSTATE_FIELDNAME_STORE).value(directory.relativize(store.getRoot()).toString());
+
+			out.name(INITSTATE_FIELDNAME_SNAPSHOT);
+			out.beginObject();
+			out.name(SNAPSHOT_FILEDNAME_STATE_HASHES);
+			gson.toJson(stateHashes, HASHES_TYPE, out);
+			out.name(SNAPSHOT_FILEDNAME_ORDER).value(ORDER_BY_DELAY);
+			out.name(SNAPSHOT_FILEDNAME_EVENT_HASHES);
+			gson.toJson(eventHashes, HASHES_TYPE, out);
+			out.endObject();
+
+			out.endObject();
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Load the given blobs of states from the given store.
+	 * 
+	 * @param store  store of the blobs.
+	 * @param hashes hashes of the blobs.
+	 * @return JSON of the states.
+	 */
+	private JsonArray loadStateValues(final ContentStore store, final List<String> hashes) {
+		final JsonArray stateValues = new JsonArray();
+		for (final String hash : hashes) {
+			try (final JsonReader reader = this.openJsonReader(store.locate(hash))) {
+				stateValues.add(gson.fromJson(reader, JsonElement.class));
+			} catch (final IOException e) {
+				e.printStackTrace();
+				throw new RuntimeException(e);
+			}
+		}
+		return stateValues;
+	}
+
+	/**
+	 * @return store at the given location, resolved against the directory of the manifest.
+	 */
+	private static ContentStore resolveStore(final Path path, final String store) {
+		return new ContentStore(path.toAbsolutePath().getParent().resolve(store));
+	}
+
+	private static ContentStore requireStore(final ContentStore store, final Path path) {
+		if (store == null) {
+			throw new JsonParseException(String.format("Expected store before the hashes of manifest %s.", path));
+		}
+		return store;
+	}
+
+	/**
+	 * Serialize the given state as delta to the given parent state, directly to
+	 * its final location.
+	 * 
+	 * @param state  state to be serialized.
+	 * @param parent location of the parent state, may be null.
+	 * @param path   location to write the state to.
+	 * @see InitStateDeSerialization#serializeDelta(InitState, Path, Path, Path)
+	 */
+	public void serializeDelta(final InitState state, final Path parent, final Path path) {
+		this.serializeDelta(state, parent, path, path);
+	}
+
+	/**
+	 * Serialize the given state as delta to the given parent state.
+	 * 
+	 * The delta contains the events in full, but only those states of the SPD
+	 * interpreter, that are not in the parent. States equal to a state of the
+	 * parent are written as index into the parent's states. The parent must stay
+	 * at its location, as long as the delta is read, and it may be a delta
+	 * itself.
+	 * 
+	 * If the chain of deltas would exceed the maximum chain length of this
+	 * serializer, or if there is no parent, the state is written in full. It is
+	 * also written in full, if the target is part of the parent's chain, e.g. if
+	 * the state replaces its own parent. Otherwise, the delta would reference
+	 * itself once it is moved to the target.
+	 * 
+	 * Events are written in full, because the entities of the events are
+	 * referenced across events, c.f. {@link DESEventSerializer}, such that single
+	 * events cannot be compared to the parent's events.
+	 * 
+	 * @param state  state to be serialized.
+	 * @param parent location of the parent state, may be null.
+	 * @param path   location to write the state to, e.g. a temporary file.
+	 * @param target location the state is finally moved to, the reference to the
+	 *               parent is relative to it.
+	 */
+	public void serializeDelta(final InitState state, final Path parent, final Path path, final Path target) {
+		if (parent == null || maxChainLength <= 0 || !Files.isRegularFile(parent)) {
+			this.serialize(state, path);
+			return;
+		}
+
+		final Set<Path> chain = new HashSet<>();
+		final ResolvedStateValues parentValues = this.resolveStateValues(parent, chain);
+		if (chain.contains(target.toAbsolutePath().normalize())) {
+			LOGGER.debug(String.format("Delta chain of %s contains target %s, write full snapshot.", parent, target));
+			this.serialize(state, path);
+			return;
+		}
+		if (parentValues.depth() + 1 > maxChainLength) {
+			LOGGER.debug(String.format("Delta chain of %s reached maximum length %d, write full snapshot.", parent,
+					maxChainLength));
+			this.serialize(state, path);
+			return;
+		}
+
+		final Map<JsonElement, Integer> parentIndices = new HashMap<>();
+		for (int i = 0; i < parentValues.values().size(); i++) {
+			parentIndices.putIfAbsent(parentValues.values().get(i), i);
+		}
+
+		final JsonArray changed = new JsonArray();
+		final List<Integer> inherited = new ArrayList<>();
+		for (final SPDAdjustorState spdState : state.getSnapshot().getSPDAdjustorStates()) {
+			final JsonElement value = gson.toJsonTree(spdState, SPDAdjustorState.class);
+			final Integer index = parentIndices.remove(value);
+			if (index == null) {
+				changed.add(value);
+			} else {
+				inherited.add(index);
+			}
+		}
+
+		final Path directory = target.toAbsolutePath().getParent();
+		final String parentReference = directory.relativize(parent.toAbsolutePath()).toString();
+
+		try (final JsonWriter out = this.openJsonWriter(path, typeDictionary(state))) {
+			out.beginObject();
+			out.name(INITSTATE_FIELDNAME_ID).value(state.getId());
+			out.name(INITSTATE_FIELDNAME_TIME).value(state.getPointInTime());
+			out.name(INITSTATE_FIELDNAME_PARENT).value(parentReference);
+
+			out.name(INITSTATE_FIELDNAME_SNAPSHOT);
+			out.beginObject();
+			// inherited indices and states first, such that the events can be streamed on reading.
+			out.name(SNAPSHOT_FILEDNAME_INHERITED);
+			gson.toJson(inherited, INDICES_TYPE, out);
+			out.name(SNAPSHOT_FILEDNAME_STATES);
+			gson.toJson(changed, out);
+			writeEvents(state.getSnapshot().getEvents(), out);
+			out.endObject();
+
+			out.endObject();
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+		LOGGER.debug(String.format("Wrote delta snapshot with %d of %d states inherited from %s.", inherited.size(),
+				inherited.size() + changed.size(), parentReference));
+	}
+
+	/**
+	 * Get the state values of the snapshot at the given location as JSON,
+	 * resolving the chain of parents, if it is a delta snapshot.
+	 * 
+	 * Reading stops right after the states, i.e. the events are never read.
+	 * 
+	 * Chains of any length are resolved, independent of the maximum chain length
+	 * for writing, because the chain may have been written with a different
+	 * maximum.
+	 * 
+	 * @param path    location of the state.
+	 * @param visited locations of the states already resolved in this chain, to
+	 *                detect cycles.
+	 * @return JSON of the state values, and length of the chain of deltas.
+	 */
+	private ResolvedStateValues resolveStateValues(final Path path, final Set<Path> visited) {
+		if (!visited.add(path.toAbsolutePath().normalize())) {
+			throw new JsonParseException(String.format("Chain of delta snapshots at %s contains a cycle.", path));
+		}
+
+
+		String parent = null;
+		ContentStore store = null;
+		JsonArray stateValues = null;
+		List<Integer> inherited = List.of();
+
+		try (final JsonReader reader = this.openJsonReader(path)) {
+			reader.beginObject();
+			while (reader.hasNext() && stateValues == null) {
+				final String name = reader.nextName();
+				if (name.equals(INITSTATE_FIELDNAME_PARENT)) {
+					parent = reader.nextString();
+				} else if (name.equals(INITSTATE_FIELDNAME_STORE)) {
+					store = resolveStore(path, reader.nextString());
+				} else if (name.equals(INITSTATE_FIELDNAME_SNAPSHOT)) {
+					reader.beginObject();
+					while (reader.hasNext() && stateValues == null) {
+						final String snapshotName = reader.nextName();
+						if (snapshotName.equals(SNAPSHOT_FILEDNAME_STATES)) {
+							stateValues = gson.fromJson(reader, JsonArray.class);
+						} else if (snapshotName.equals(SNAPSHOT_FILEDNAME_STATE_HASHES)) {
+							stateValues = this.loadStateValues(requireStore(store, path), gson.fromJson(reader, HASHES_TYPE));
+						} else if (snapshotName.equals(SNAPSHOT_FILEDNAME_INHERITED)) {
+							inherited = gson.fromJson(reader, INDICES_TYPE);
+						} else {
+							reader.skipValue();
+						}
+					}
+				} else {
+					reader.skipValue();
+				}
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+
+		if (stateValues == null) {
+			throw new JsonParseException(String.format("Missing states in snapshot %s.", path));
+		}
+		if (parent == null) {
+			return new ResolvedStateValues(stateValues, 0);
+		}
+		final ResolvedStateValues parentValues = this.resolveStateValues(resolveParent(path, parent), visited);
+		return new ResolvedStateValues(merge(stateValues, inherited, parentValues.values(), path),
+				parentValues.depth() + 1);
+	}
+
+	/**
+	 * Get the state values of a snapshot, that was partially read already.
+	 * 
+	 * @param path        location of the snapshot.
+	 * @param parent      reference to the parent as read from the snapshot, or null, if it is a full snapshot.
+	 * @param stateValues states as read from the snapshot.
+	 * @param inherited   indices of the parent's states, that are inherited.
+	 * @return JSON of all state values.
+	 */
+	private JsonArray resolveStateValues(final Path path, final String parent, final JsonArray stateValues,
+			final List<Integer> inherited) {
+		if (parent == null) {
+			return stateValues;
+		}
+		final Set<Path> visited = new HashSet<>();
+		visited.add(path.toAbsolutePath().normalize());
+		final JsonArray parentValues = this.resolveStateValues(resolveParent(path, parent), visited).values();
+		return merge(stateValues, inherited, parentValues, path);
+	}
+
+	/**
+	 * Write the given events, ordered for deferred materialisation.
+	 * 
+	 * @param events events to be written.
+	 * @param out    writer positioned within the snapshot object.
+	 * @throws IOException if writing fails.
+	 */
+	private void writeEvents(final Set<DESEvent> events, final JsonWriter out) throws IOException {
+		out.name(SNAPSHOT_FILEDNAME_ORDER).value(ORDER_BY_DELAY);
+		out.name(SNAPSHOT_FILEDNAME_EVENTS);
+		eventSerializer.serialize(orderByDelay(events), out);
+	}
+
+	/**
+	 * Order the given events for deferred materialisation, c.f.
+	 * {@link StreamedInitState#isEventsOrderedByDelay()}.
+	 * 
+	 * All {@link InterArrivalUserInitiated} events are moved to the end, ordered
+	 * by their delay. The order of all other events remains unchanged.
+	 * 
+	 * @param events events to be ordered.
+	 * @return ordered events.
+	 */
+	private static Set<DESEvent> orderByDelay(final Set<DESEvent> events) {
+		final Set<DESEvent> ordered = new LinkedHashSet<>();
+		final List<DESEvent> deferrable = new ArrayList<>();
+		for (final DESEvent event : events) {
+			if (event instanceof InterArrivalUserInitiated) {
+				deferrable.add(event);
+			} else {
+				ordered.add(event);
+			}
+		}
+		deferrable.sort(Comparator.comparingDouble(DESEvent::delay));
+		ordered.addAll(deferrable);
+		return ordered;
+	}
+
+	private Set<SPDAdjustorState> toStates(final JsonArray stateValues) {
+		return gson.fromJson(stateValues, STATES_TYPE);
+	}
+
+	private static JsonArray merge(final JsonArray stateValues, final List<Integer> inherited,
+			final JsonArray parentValues, final Path path) {
+		final JsonArray merged = stateValues.deepCopy();
+		for (final int index : inherited) {
+			if (index < 0 || index >= parentValues.size()) {
+				throw new JsonParseException(String.format(
+						"Delta snapshot %s inherits state %d, but parent has %d states only.", path, index,
+						parentValues.size()));
+			}
+			merged.add(parentValues.get(index));
+		}
+		return merged;
+	}
+
+	/**
+	 * @return location of the parent, resolved against the directory of the delta.
+	 */
+	private static Path resolveParent(final Path path, final String parent) {
+		return path.toAbsolutePath().getParent().resolve(parent).normalize();
+	}
+
+	/**
+	 * State values of a snapshot, with the length of its chain of deltas, i.e. 0
+	 * for full snapshots.
+	 */
+	private record ResolvedStateValues(JsonArray values, int depth) {
 	}
 	
+	/**
+	 * Serialize the given state directly to file.
+	 * 
+	 * The JSON is streamed to the file, i.e. neither the entire JSON string nor
+	 * the JSON tree of the snapshot are held in memory.
+	 */
 	@Override
 	public void serialize(final InitState snapshot, final Path path) {
-		final String json = gson.toJson(snapshot);
-		write(json, path.toFile());
+		try (final JsonWriter jsonWriter = this.openJsonWriter(path, typeDictionary(snapshot))) {
+			gson.toJson(snapshot, InitState.class, jsonWriter);
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+	
+	/**
+	 * Capture the given state, such that it can be serialized later on, e.g. on
+	 * another thread, while the entities of the state keep changing.
+	 * 
+	 * The capture is a JSON tree, that does not refer to any entities of the
+	 * state. Creating it visits all entities of the state, thus it must happen
+	 * while the state is still consistent. Only encoding and compressing the
+	 * capture is left to
+	 * {@link InitStateDeSerialization#serializeCaptured(CapturedState, Path)}.
+	 * 
+	 * @param state state to be captured.
+	 * @return capture of the state, independent of the state's entities.
+	 */
+	public CapturedState capture(final InitState state) {
+		return new CapturedState(gson.toJsonTree(state, InitState.class), typeDictionary(state));
+	}
+
+	/**
+	 * Serialize a captured state directly to file.
+	 * 
+	 * The file has exactly the content, that
+	 * {@link InitStateDeSerialization#serialize(InitState, Path)} writes for the
+	 * captured state.
+	 * 
+	 * @param state captured state to be serialized.
+	 * @param path  location to write the state to.
+	 */
+	public void serializeCaptured(final CapturedState state, final Path path) {
+		try (final JsonWriter jsonWriter = this.openJsonWriter(path, state.dictionary())) {
+			gson.toJson(state.content(), jsonWriter);
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * State captured with {@link InitStateDeSerialization#capture(InitState)}.
+	 * 
+	 * Must not be changed, as it is serialized concurrently.
+	 * 
+	 * @param content    JSON tree of the state.
+	 * @param dictionary initial dictionary, if written in binary format.
+	 */
+	public record CapturedState(JsonElement content, List<String> dictionary) {
+	}
+
+	/**
+	 * Get the initial dictionary for writing the given state in binary format.
+	 * 
+	 * The dictionary holds the types of all events of the state, such that their
+	 * names are not repeated inline.
+	 * 
+	 * @param state state to be written.
+	 * @return sorted type names of the state's events.
+	 */
+	private static List<String> typeDictionary(final InitState state) {
+		return state.getSnapshot().getEvents().stream().map(event -> event.getClass().getCanonicalName())
+				.filter(Objects::nonNull).distinct().sorted().toList();
+	}
+
+	/**
+	 * Write content to memory, in this serializer's format and compression.
+	 * 
+	 * @param content    writes the content.
+	 * @param dictionary initial dictionary, if written in binary format.
+	 * @return written content.
+	 */
+	private byte[] toBytes(final JsonContent content, final Collection<String> dictionary) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			final OutputStream out = compression == Compression.GZIP ? new GZIPOutputStream(bytes) : bytes;
+			try (final JsonWriter jsonWriter = format == SnapshotFormat.BINARY ? new BinaryJsonWriter(out, gson, dictionary)
+					: gson.newJsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)))) {
+				content.write(jsonWriter);
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Writes content to a {@link JsonWriter}.
+	 */
+	@FunctionalInterface
+	private interface JsonContent {
+		void write(final JsonWriter out) throws IOException;
+	}
+
+	/**
+	 * Create a deep copy of the given state, by serialising and deserialising it.
+	 * 
+	 * Model elements are not copied, but the copy references the same model
+	 * elements as the original.
+	 * 
+	 * @param state state to be copied.
+	 * @return copy of the state.
+	 */
+	public SPDAdjustorState copy(final SPDAdjustorState state) {
+		return gson.fromJson(gson.toJsonTree(state, SPDAdjustorState.class), SPDAdjustorState.class);
+	}
+
+	/**
+	 * Open a reader on the given file, that matches the file's format.
+	 * 
+	 * @param path location of the file to be read.
+	 * @return reader for JSON or binary snapshots.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	private JsonReader openJsonReader(final Path path) throws IOException {
+		final InputStream in = openInputStream(path.toFile());
+		try {
+			if (BinaryFormat.isBinary(in)) {
+				return new BinaryJsonReader(in);
+			}
+		} catch (final IOException e) {
+			in.close();
+			throw e;
+		}
+		return gson.newJsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Open a writer to the given file, that writes this serializer's format and
+	 * compression.
+	 * 
+	 * @param path       location of the file to be written.
+	 * @param dictionary initial dictionary, if written in binary format.
+	 * @return writer for JSON or binary snapshots.
+	 * @throws IOException if the file cannot be created.
+	 */
+	private JsonWriter openJsonWriter(final Path path, final Collection<String> dictionary) throws IOException {
+		if (format == SnapshotFormat.BINARY) {
+			return new BinaryJsonWriter(openOutputStream(path.toFile(), compression), gson, dictionary);
+		}
+		return gson.newJsonWriter(openWriter(path.toFile(), compression));
 	}
 	
 	
@@ -74,21 +810,43 @@ public final class InitStateDeSerialization implements DeserializeParent<InitSta
 
 		adaptereBuilder.registerTypeHierarchyAdapter(EObject.class, new EObjectTypeAdapter(partition.getAllocation().eResource().getResourceSet()));
 		
-		adaptereBuilder.registerTypeHierarchyAdapter(Snapshot.class, new SnapshotDeserializer());
-		adaptereBuilder.registerTypeHierarchyAdapter(Snapshot.class, new SnapshotSerializer());
+		adaptereBuilder.registerTypeHierarchyAdapter(Snapshot.class, new SnapshotTypeAdapter());
 		
 		return adaptereBuilder.create();
 	}
 		
 	/**
+	 * Adapter for (de)serialising {@link Snapshot}s.
+	 * 
+	 * On serialisation, states and events are written directly to the output,
+	 * without creating an intermediate JSON tree. The states are written before
+	 * the events, to allow for reading the events incrementally, c.f.
+	 * {@link InitStateDeSerialization#deserializeStreamed(Path)}.
 	 * 
 	 * @author Sophie Stieß
 	 *
 	 */
-	private class SnapshotDeserializer implements JsonDeserializer<Snapshot> {
+	private class SnapshotTypeAdapter extends TypeAdapter<Snapshot> {
+
+		private final Type statesType = new TypeToken<Collection<SPDAdjustorState>>() {
+		}.getType();
+
 		@Override
-		public Snapshot deserialize(final JsonElement json, final Type typeOfT,
-				final JsonDeserializationContext context) throws JsonParseException {
+		public void write(final JsonWriter out, final Snapshot src) throws IOException {
+			out.beginObject();
+
+			// states first, such that the events can be streamed on reading.
+			out.name(SNAPSHOT_FILEDNAME_STATES);
+			gson.toJson(src.getSPDAdjustorStates(), statesType, out);
+
+			writeEvents(src.getEvents(), out);
+
+			out.endObject();
+		}
+
+		@Override
+		public Snapshot read(final JsonReader in) throws IOException {
+			final JsonElement json = gson.getAdapter(JsonElement.class).read(in);
 
 			if (json.isJsonObject()) {
 				final JsonObject jsonobj = json.getAsJsonObject();
@@ -99,7 +857,7 @@ public final class InitStateDeSerialization implements DeserializeParent<InitSta
 				}.getType();
 
 				final Set<DESEvent> events = eventSerializer.deserializeFromJson(jsonevents);
-				final Set<SPDAdjustorState> states = context.deserialize(jsonvalues, type);
+				final Set<SPDAdjustorState> states = gson.fromJson(jsonvalues, type);
 
 				return new PlainSnapshot(events, states);
 			} else {
@@ -107,28 +865,4 @@ public final class InitStateDeSerialization implements DeserializeParent<InitSta
 			}
 		}
 	}
-	
-	/**
-	 * 
-	 * @author Sophie Stieß
-	 *
-	 */
-	private class SnapshotSerializer implements JsonSerializer<Snapshot> {
-		@Override
-		public JsonElement serialize(final Snapshot src, final Type typeOfSrc, final JsonSerializationContext context) {
-
-			final Set<DESEvent> events = src.getEvents();
-			final Collection<SPDAdjustorState> states = src.getSPDAdjustorStates();
-			
-			final JsonElement eventsJson = eventSerializer.serializeToJson(events);
-			final JsonElement statesJson = context.serialize(states);
-			
-			final JsonObject jsonobj = new JsonObject();
-			
-			jsonobj.add(SNAPSHOT_FILEDNAME_EVENTS, eventsJson);
-			jsonobj.add(SNAPSHOT_FILEDNAME_STATES, statesJson);
-			
-			return jsonobj;	
-		}
-	}
 }
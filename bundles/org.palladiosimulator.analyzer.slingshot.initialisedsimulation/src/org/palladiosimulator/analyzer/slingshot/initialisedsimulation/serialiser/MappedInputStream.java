@@ -0,0 +1,131 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Input stream on a memory-mapped file.
+ *
+ * The file is mapped into memory region by region, instead of being copied
+ * into buffers on the heap. Thus, reading a file does neither allocate heap
+ * memory proportional to the file's size, nor copy the content more often
+ * than the parser requests it. Regions are at most
+ * {@link MappedInputStream#REGION_SIZE} bytes, thus files larger than 2 GB can
+ * be read as well.
+ *
+ * The stream supports marks without limits. It is not thread-safe.
+ *
+ * @author Sophie Stieß
+ *
+ */
+final class MappedInputStream extends InputStream {
+
+	/** Maximum number of bytes mapped at once. */
+	static final long REGION_SIZE = 1L << 30;
+
+	private final FileChannel channel;
+	private final long size;
+
+	private MappedByteBuffer region;
+	private long regionStart;
+	private long regionEnd;
+
+	private long position = 0;
+	private long mark = 0;
+
+	/**
+	 * Open a stream on the given file.
+	 *
+	 * @param path file to read from.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	MappedInputStream(final Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			this.size = channel.size();
+			this.map(0);
+		} catch (final IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (position >= size) {
+			return -1;
+		}
+		this.ensureMapped();
+		return region.get((int) (position++ - regionStart)) & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+		if (position >= size) {
+			return -1;
+		}
+		this.ensureMapped();
+		final int count = (int) Math.min(length, regionEnd - position);
+		region.get((int) (position - regionStart), bytes, offset, count);
+		position += count;
+		return count;
+	}
+
+	@Override
+	public long skip(final long n) {
+		final long skipped = Math.max(0, Math.min(n, size - position));
+		position += skipped;
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return (int) Math.min(Integer.MAX_VALUE, size - position);
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public void mark(final int readlimit) {
+		this.mark = position;
+	}
+
+	@Override
+	public void reset() {
+		this.position = mark;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.region = null;
+		channel.close();
+	}
+
+	/**
+	 * Map the region, that contains the current position, if it is not mapped
+	 * yet.
+	 */
+	private void ensureMapped() throws IOException {
+		if (position < regionStart || position >= regionEnd) {
+			this.map(position);
+		}
+	}
+
+	private void map(final long start) throws IOException {
+		final long length = Math.min(REGION_SIZE, size - start);
+		this.region = channel.map(MapMode.READ_ONLY, start, length);
+		this.regionStart = start;
+		this.regionEnd = start + length;
+	}
+}
@@ -1,5 +1,7 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.nio.file.Path;
 import java.util.List;
@@ -7,9 +9,12 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EObject;
 import org.palladiosimulator.analyzer.slingshot.common.utils.PCMResourcePartitionHelper;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.graphstate.ArchitectureConfigurationUtil;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.OtherInitThings;
 import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotBehaviourConfigurationParameters;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.ModelElementIndex;
 import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
 import org.palladiosimulator.spd.SPD;
 import org.palladiosimulator.spd.ScalingPolicy;
@@ -37,6 +42,7 @@ public final class OtherStuffDeserialization implements DeserializeParent<OtherI
 	
 	private final Gson gson;
 	private final SPD spd;
+	private final ModelElementIndex index;
 	
 	/**
 	 * 
@@ -45,6 +51,7 @@ public final class OtherStuffDeserialization implements DeserializeParent<OtherI
 	public OtherStuffDeserialization(final PCMResourceSetPartition partition) {
 		super();
 		this.spd = PCMResourcePartitionHelper.getSPD(partition);
+		this.index = ModelElementIndex.of(partition.getResourceSet(), ArchitectureConfigurationUtil::isWhitelisted);
 		this.gson = createGson();
 	}
 
@@ -61,8 +68,12 @@ public final class OtherStuffDeserialization implements DeserializeParent<OtherI
 	
 	@Override
 	public OtherInitThings deserialize(final Path path) {
-		final String read = read(path.toFile());
-		return gson.fromJson(read, OtherInitThings.class);
+		try (final Reader reader = openReader(path.toFile())) {
+			return gson.fromJson(reader, OtherInitThings.class);
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
 	}
 	
 	/**
@@ -87,6 +98,13 @@ public final class OtherStuffDeserialization implements DeserializeParent<OtherI
 			if (json.isJsonPrimitive() && json.getAsJsonPrimitive().isString()) {
 				final String id = json.getAsJsonPrimitive().getAsString();
 
+				if (spd.eResource() != null && spd.eResource().getURI() != null) {
+					final EObject indexed = index.find(spd.eResource().getURI().lastSegment(), id);
+					if (indexed instanceof final ScalingPolicy policy && spd.getScalingPolicies().contains(policy)) {
+						return policy;
+					}
+				}
+
 				final List<ScalingPolicy> policies = spd.getScalingPolicies();
 				final Optional<ScalingPolicy> matchingPolicy = policies.stream().filter(p -> p.getId().equals(id))
 						.findFirst();
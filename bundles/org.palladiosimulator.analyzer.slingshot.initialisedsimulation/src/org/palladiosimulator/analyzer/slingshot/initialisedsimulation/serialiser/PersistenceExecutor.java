@@ -0,0 +1,263 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Serialises and writes files on separate threads, such that the simulation
+ * thread does not wait for the file system.
+ *
+ * Each file is written to a temporary file in the target directory, forced to
+ * the storage device and then moved to its target. Thus, once the future of a
+ * write completed, the file is durable, and there are never any partially
+ * written files at the target location.
+ *
+ * The number of pending writes is bounded. If the bound is reached, submitting
+ * another write blocks until a pending write finished. A pending write holds
+ * its slot while it is serialised, not only while it is written. Thus, a
+ * simulation that produces files faster than they can be serialised and
+ * written is slowed down, instead of piling up content in memory.
+ *
+ * Things submitted for writing must not be changed afterwards, as they are
+ * serialised concurrently.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class PersistenceExecutor {
+	private static final Logger LOGGER = Logger.getLogger(PersistenceExecutor.class);
+
+	/** Default number of writes, that may be pending at the same time. */
+	public static final int DEFAULT_CAPACITY = 8;
+
+	private final ExecutorService executor;
+	private final Semaphore slots;
+
+	private final List<CompletableFuture<Path>> pendingWrites = new ArrayList<>();
+
+	/**
+	 * Create an executor with two threads and
+	 * {@link PersistenceExecutor#DEFAULT_CAPACITY} pending writes at most.
+	 */
+	public PersistenceExecutor() {
+		this(2, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create an executor with the given number of threads and pending writes.
+	 *
+	 * @param threads  number of threads for writing, must be positive.
+	 * @param capacity maximum number of pending writes, must be positive.
+	 */
+	public PersistenceExecutor(final int threads, final int capacity) {
+		if (threads <= 0 || capacity <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"Threads and capacity must be positive, but are %d and %d.", threads, capacity));
+		}
+		final AtomicInteger counter = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			final Thread thread = new Thread(runnable, "persistence-" + counter.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.slots = new Semaphore(capacity);
+	}
+
+	/**
+	 * Serialise the given thing to the given location, with the given serializer.
+	 *
+	 * @param <T>        type of the thing
+	 * @param serializer serializer for the thing
+	 * @param thing      thing to be serialised, must not change afterwards.
+	 * @param target     location of the file
+	 * @return future, that completes with the target location, once the file is
+	 *         durable.
+	 */
+	public <T> CompletableFuture<Path> persist(final SerializeParent<T> serializer, final T thing,
+			final Path target) {
+		return this.submit(target, () -> temporary -> serializer.serialize(thing, temporary));
+	}
+
+	/**
+	 * Capture a thing on the calling thread and serialise it to the given
+	 * location.
+	 *
+	 * The thing is only captured once a slot for the write is available, i.e. a
+	 * caller that is blocked by the bound on pending writes has not yet captured
+	 * anything. Capturing happens before this operation returns, thus the
+	 * captured thing may refer to state, that changes afterwards, as long as the
+	 * capture itself does not.
+	 *
+	 * @param <T>        type of the thing
+	 * @param serializer serializer for the thing
+	 * @param capture    creates the thing to be serialised, must not change
+	 *                   afterwards.
+	 * @param target     location of the file
+	 * @return future, that completes with the target location, once the file is
+	 *         durable.
+	 */
+	public <T> CompletableFuture<Path> persistCaptured(final SerializeParent<T> serializer,
+			final Supplier<T> capture, final Path target) {
+		return this.submit(target, () -> {
+			final T thing = capture.get();
+			return temporary -> serializer.serialize(thing, temporary);
+		});
+	}
+
+	/**
+	 * Serialise a thing to the given location, once the given predecessor
+	 * completed.
+	 *
+	 * The thing is only created once the predecessor completed, on the thread
+	 * that writes it. The thing is written regardless of whether the predecessor
+	 * succeeded or failed, i.e. the predecessor only determines the order of the
+	 * writes. A failed predecessor still fails the future of
+	 * {@link PersistenceExecutor#shutdown()}.
+	 *
+	 * @param <T>         type of the thing
+	 * @param predecessor write to wait for
+	 * @param serializer  serializer for the thing
+	 * @param thing       creates the thing to be serialised.
+	 * @param target      location of the file
+	 * @return future, that completes with the target location, once the file is
+	 *         durable.
+	 */
+	public <T> CompletableFuture<Path> persistAfter(final CompletableFuture<?> predecessor,
+			final SerializeParent<T> serializer, final Supplier<T> thing, final Path target) {
+		return this.submit(write -> predecessor.handle((ignored, exception) -> null)
+				.thenApplyAsync(ignored -> write.get(), executor), target,
+				() -> temporary -> serializer.serialize(thing.get(), temporary));
+	}
+
+	/**
+	 * Get a future, that completes once all writes submitted so far are durable,
+	 * and accept no more writes afterwards.
+	 *
+	 * The threads are only stopped once all writes completed, because writes
+	 * submitted with
+	 * {@link PersistenceExecutor#persistAfter(CompletableFuture, SerializeParent, Supplier, Path)}
+	 * only start once their predecessor completed.
+	 *
+	 * The returned future completes exceptionally, if any write failed.
+	 *
+	 * @return future of all pending writes.
+	 */
+	public CompletableFuture<Void> shutdown() {
+		final CompletableFuture<Void> allWrites;
+		synchronized (pendingWrites) {
+			allWrites = CompletableFuture.allOf(pendingWrites.toArray(CompletableFuture[]::new));
+		}
+		return allWrites.whenComplete((ignored, exception) -> executor.shutdown());
+	}
+
+	private CompletableFuture<Path> submit(final Path target, final Supplier<FileWriter> writer) {
+		return this.submit(write -> CompletableFuture.supplyAsync(write, executor), target, writer);
+	}
+
+	/**
+	 * Submit a write.
+	 *
+	 * @param scheduler schedules the given write on the executor.
+	 * @param target    location of the file
+	 * @param writer    creates the writer for the content of the temporary file,
+	 *                  on the calling thread, once a slot is available.
+	 * @return future, that completes with the target location, once the file is
+	 *         durable.
+	 */
+	private CompletableFuture<Path> submit(final Function<Supplier<Path>, CompletableFuture<Path>> scheduler,
+			final Path target, final Supplier<FileWriter> writer) {
+		try {
+			slots.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+
+		final CompletableFuture<Path> future;
+		try {
+			final FileWriter fileWriter = writer.get();
+			future = scheduler.apply(() -> writeDurably(target, fileWriter));
+		} catch (final RuntimeException e) {
+			slots.release();
+			throw e;
+		}
+		future.whenComplete((path, exception) -> slots.release());
+
+		synchronized (pendingWrites) {
+			pendingWrites.add(future);
+		}
+		return future;
+	}
+
+	/**
+	 * Write to a temporary file, force it to the storage device and move it to the
+	 * target.
+	 *
+	 * @param target location of the file
+	 * @param writer writes the content to the temporary file
+	 * @return target location
+	 */
+	private static Path writeDurably(final Path target, final FileWriter writer) {
+		final Path absolute = target.toAbsolutePath();
+		try {
+			Files.createDirectories(absolute.getParent());
+			final Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(),
+					".tmp");
+			try {
+				writer.write(temporary);
+				try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+					channel.force(true);
+				}
+				Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temporary);
+			}
+			forceDirectory(absolute.getParent());
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+		LOGGER.debug(String.format("Wrote %s.", absolute));
+		return absolute;
+	}
+
+	/**
+	 * Force the directory entry of a moved file to the storage device.
+	 *
+	 * Not all platforms support opening directories, thus failing to do so is
+	 * ignored.
+	 *
+	 * @param directory directory to be forced
+	 */
+	private static void forceDirectory(final Path directory) {
+		try (final FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (final IOException e) {
+			LOGGER.debug(String.format("Cannot force directory %s, %s", directory, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Writes the content of a file to the given location.
+	 */
+	@FunctionalInterface
+	private interface FileWriter {
+		void write(final Path path);
+	}
+}
@@ -1,12 +1,16 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.Compression;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.ResultState;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * 
@@ -22,14 +26,33 @@ public final class ResultStateSerialization implements SerializeParent<ResultSta
 	
 	private final Gson gson;
 	
+	private final Compression compression;
+	
+	/**
+	 * Create a serializer, that writes uncompressed JSON.
+	 */
 	public ResultStateSerialization() {
+		this(Compression.NONE);
+	}
+	
+	/**
+	 * Create a serializer, that writes JSON with the given compression.
+	 * 
+	 * @param compression compression for writing states.
+	 */
+	public ResultStateSerialization(final Compression compression) {
 		super();				
 		this.gson = new GsonBuilder().create();
+		this.compression = compression;
 	}
 
 	@Override
 	public void serialize(final ResultState snapshot, final Path path) {
-		final String json = gson.toJson(snapshot);
-		write(json, path.toFile());
+		try (final Writer writer = openWriter(path.toFile(), compression); final JsonWriter jsonWriter = gson.newJsonWriter(writer)) {
+			gson.toJson(snapshot, ResultState.class, jsonWriter);
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
 	}
 }
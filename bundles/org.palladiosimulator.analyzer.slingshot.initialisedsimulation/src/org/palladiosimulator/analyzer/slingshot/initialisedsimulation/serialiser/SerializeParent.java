@@ -1,11 +1,19 @@
 package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.Compression;
 
 /**
  * 
@@ -33,4 +41,41 @@ public interface SerializeParent<T>{
 			throw new RuntimeException(e);
 		}
 	}
+
+	/**
+	 * Open a buffered writer to the given file, for writing directly to the file
+	 * instead of building the entire content as a string in memory first.
+	 *
+	 * Creates all missing parent directories. The caller is responsible for
+	 * closing the writer.
+	 *
+	 * @param file        file to write to.
+	 * @param compression compression of the written content.
+	 * @return buffered writer to the given file.
+	 * @throws IOException if the directories or the file cannot be created.
+	 */
+	default Writer openWriter(final File file, final Compression compression) throws IOException {
+		return new BufferedWriter(new OutputStreamWriter(openOutputStream(file, compression), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Open a buffered output stream to the given file, for writing formats other
+	 * than plain text.
+	 *
+	 * Creates all missing parent directories. The caller is responsible for
+	 * closing the stream.
+	 *
+	 * @param file        file to write to.
+	 * @param compression compression of the written content.
+	 * @return buffered output stream to the given file.
+	 * @throws IOException if the directories or the file cannot be created.
+	 */
+	default OutputStream openOutputStream(final File file, final Compression compression) throws IOException {
+		Files.createDirectories(file.toPath().getParent());
+		final OutputStream out = Files.newOutputStream(file.toPath());
+		if (compression == Compression.GZIP) {
+			return new BufferedOutputStream(new GZIPOutputStream(out));
+		}
+		return new BufferedOutputStream(out);
+	}
 }
@@ -0,0 +1,145 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorState;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.InterArrivalUserInitiated;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.InitState;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Partially read {@link InitState}, whose events are parsed on demand.
+ *
+ * Id, point in time and the states of the SPD interpreter are read eagerly,
+ * while the events are only parsed one by one while iterating over them. The
+ * underlying reader is closed once all events have been consumed, or when this
+ * state is closed, whatever happens first.
+ *
+ * The events can only be iterated once.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class StreamedInitState implements Closeable {
+
+	private final String id;
+	private final double pointInTime;
+	private final Set<SPDAdjustorState> states;
+	private final boolean eventsOrderedByDelay;
+
+	private final JsonReader reader;
+	private final Iterator<DESEvent> events;
+
+	private boolean closed = false;
+
+	/**
+	 *
+	 * @param id          id of the state the snapshot was taken for
+	 * @param pointInTime point in time of the snapshot
+	 * @param states      values to initialise the states of the SPD interpreter.
+	 * @param events      events, backed by the given reader.
+	 * @param eventsOrderedByDelay whether the events are ordered for deferred
+	 *                    materialisation, c.f. {@link StreamedInitState#isEventsOrderedByDelay()}.
+	 * @param reader      reader to close once the events are consumed.
+	 */
+	StreamedInitState(final String id, final double pointInTime, final Set<SPDAdjustorState> states,
+			final Iterator<DESEvent> events, final boolean eventsOrderedByDelay, final JsonReader reader) {
+		this.id = id;
+		this.pointInTime = pointInTime;
+		this.states = states;
+		this.eventsOrderedByDelay = eventsOrderedByDelay;
+		this.events = events;
+		this.reader = reader;
+	}
+
+	/**
+	 *
+	 * @return id of the state the snapshot was taken for
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 *
+	 * @return point in time of the snapshot
+	 */
+	public double getPointInTime() {
+		return pointInTime;
+	}
+
+	/**
+	 *
+	 * @return values to initialise the states of the SPD interpreter.
+	 */
+	public Set<SPDAdjustorState> getSPDAdjustorStates() {
+		return states;
+	}
+
+	/**
+	 * Check whether the events are ordered for deferred materialisation.
+	 * 
+	 * If so, all events that are {@link InterArrivalUserInitiated} come last,
+	 * ordered by their delay. Thus, once the first of them is too far in the
+	 * future to be needed yet, the remaining events can stay unparsed as well.
+	 * 
+	 * @return true, iff the events are ordered for deferred materialisation.
+	 */
+	public boolean isEventsOrderedByDelay() {
+		return eventsOrderedByDelay;
+	}
+
+	/**
+	 * Get the events of the snapshot.
+	 *
+	 * Events are parsed lazily, i.e. only upon calling {@link Iterator#next()}.
+	 *
+	 * @return iterator over the events of the snapshot.
+	 */
+	public Iterator<DESEvent> getEvents() {
+		return new Iterator<DESEvent>() {
+			@Override
+			public boolean hasNext() {
+				if (closed) {
+					return false;
+				}
+				if (!events.hasNext()) {
+					StreamedInitState.this.closeReader();
+					return false;
+				}
+				return true;
+			}
+
+			@Override
+			public DESEvent next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException("No more events in snapshot.");
+				}
+				return events.next();
+			}
+		};
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			reader.close();
+		}
+	}
+
+	private void closeReader() {
+		try {
+			this.close();
+		} catch (final IOException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -2,11 +2,18 @@ package org.palladiosimulator.analyzer.slingshot.snapshot.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
@@ -22,7 +29,6 @@ import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorSta
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.TargetGroupState;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.ResourceDemandRequestAborted;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFModelPassedElement;
-import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.ThinkTime;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.User;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.ClosedWorkloadUserInitiated;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.InterArrivalUserInitiated;
@@ -32,12 +38,9 @@ import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.common.utils.LambdaVisitor;
 import org.palladiosimulator.analyzer.slingshot.common.utils.events.ModelPassedEvent;
 import org.palladiosimulator.analyzer.slingshot.core.api.SimulationEngine;
-import org.palladiosimulator.analyzer.slingshot.snapshot.entities.InMemoryRecorder;
 import org.palladiosimulator.analyzer.slingshot.snapshot.entities.RecordedJob;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotInitiated;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotTaken;
-import org.palladiosimulator.pcm.core.CoreFactory;
-import org.palladiosimulator.pcm.core.PCMRandomVariable;
 import org.palladiosimulator.pcm.seff.StartAction;
 import org.palladiosimulator.pcm.usagemodel.Start;
 
@@ -51,6 +54,12 @@ import de.uka.ipd.sdq.scheduler.resources.active.AbstractActiveResource;
  * looks at a certain point in time.)
  *
  *
+ * The per job and per event stages of taking a snapshot, i.e. denormalising
+ * the demands of the recorded jobs and offsetting the events, are independent
+ * of each other. If the camera is created with a parallelism greater than 1,
+ * these stages run on a {@link ForkJoinPool}, while the simulation thread waits
+ * for them. Otherwise, they run on the simulation thread.
+ *
  * @author Sophie Stieß
  *
  */
@@ -62,7 +71,7 @@ public abstract class Camera {
 	private static final String FAKE = "fakeID";
 
 	/** Access to past events, that must go into the snapshot. */
-	private final InMemoryRecorder record;
+	private final EventRecorder record;
 
 	/** Access to future events, that must go into the snapshot. */
 	private final SimulationEngine engine;
@@ -72,18 +81,49 @@ public abstract class Camera {
 
 	private final LambdaVisitor<DESEvent, DESEvent> adjustOffset;
 
+	/** Pool for the parallel stages of taking a snapshot, null to take snapshots sequentially. */
+	private final ForkJoinPool pool;
+
+	/* number of recorded jobs of the latest snapshot, for the metrics. */
+	private int fcfsJobs = 0;
+	private int procSharingJobs = 0;
+
+	/**
+	 * Actions to undo the changes of taking a checkpoint, in reverse order of the
+	 * changes. Null, unless a checkpoint is being taken. Concurrent, because the
+	 * changes may be made in parallel.
+	 */
+	private Deque<Runnable> undoLog = null;
+
+	/** Copies the states before adjusting them, if a checkpoint is being taken. */
+	private UnaryOperator<SPDAdjustorState> stateCopier = UnaryOperator.identity();
+
 	/**
 	 * 
 	 * @param record
 	 * @param engine
 	 * @param states
 	 */
-	public Camera(final InMemoryRecorder record, final SimulationEngine engine,
+	public Camera(final EventRecorder record, final SimulationEngine engine,
 			final Collection<SPDAdjustorState> states) {
+		this(record, engine, states, 1);
+	}
+
+	/**
+	 *
+	 * @param record
+	 * @param engine
+	 * @param states
+	 * @param parallelism number of threads for taking a snapshot, 1 or less to
+	 *                    take snapshots on the simulation thread only.
+	 */
+	public Camera(final EventRecorder record, final SimulationEngine engine,
+			final Collection<SPDAdjustorState> states, final int parallelism) {
 		this.record = record;
 		this.engine = engine;
 
 		this.states = states;
+		this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
 
 		this.adjustOffset = new LambdaVisitor<DESEvent, DESEvent>()
 				.on(UsageModelPassedElement.class).then(this::setOffset)
@@ -98,6 +138,73 @@ public abstract class Camera {
 	 */
 	public abstract Snapshot takeSnapshot();
 
+	/**
+	 * Shut down the threads for taking snapshots in parallel, if there are any.
+	 * 
+	 * Must be called once the simulation is finished. Snapshots taken afterwards
+	 * are taken sequentially.
+	 */
+	public void close() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Take a snapshot, but let the simulation continue afterwards.
+	 * 
+	 * Taking a snapshot changes the simulator's entities, e.g. the demands of
+	 * jobs and the times of recorded events, such that they fit the new
+	 * simulation run. Thus, the snapshot must be consumed, e.g. serialised,
+	 * before this operation returns. Afterwards, all changes are undone, such
+	 * that the simulation continues as if no snapshot was taken. States are
+	 * never changed, but copied with the given copier instead.
+	 * 
+	 * Only the removal of records for jobs and users, that are about to be
+	 * aborted, is not undone, as the abortion removes them anyway.
+	 * 
+	 * @param copier   creates copies of the states
+	 * @param consumer consumes the snapshot, must not keep any references to it.
+	 */
+	public void takeCheckpoint(final UnaryOperator<SPDAdjustorState> copier, final Consumer<Snapshot> consumer) {
+		final int numberOfAdditionalEvents = additionalEvents.size();
+
+		this.undoLog = new ConcurrentLinkedDeque<>();
+		this.stateCopier = copier;
+		try {
+			consumer.accept(this.takeSnapshot());
+		} finally {
+			undoLog.forEach(Runnable::run);
+			this.undoLog = null;
+			this.stateCopier = UnaryOperator.identity();
+			additionalEvents.subList(numberOfAdditionalEvents, additionalEvents.size()).clear();
+		}
+	}
+
+	/**
+	 * Remember how to undo a change, if a checkpoint is being taken.
+	 * 
+	 * @param undo action to undo a change.
+	 */
+	private void remember(final Runnable undo) {
+		if (undoLog != null) {
+			undoLog.push(undo);
+		}
+	}
+
+	/**
+	 * Update the demand of the given job, but remember the old demand, if a
+	 * checkpoint is being taken.
+	 * 
+	 * @param job    job to be updated
+	 * @param demand new demand
+	 */
+	private void updateDemand(final Job job, final double demand) {
+		final double oldDemand = job.getDemand();
+		this.remember(() -> job.updateDemand(oldDemand));
+		job.updateDemand(demand);
+	}
+
 	/**
 	 * include some more events.
 	 * 
@@ -115,7 +222,7 @@ public abstract class Camera {
 	 * @return collection of state values with updated time
 	 */
 	protected Collection<SPDAdjustorState> snapStates() {
-		return this.states.stream()
+		return this.states.stream().map(stateCopier)
 				.map(s -> this.copyAndOffset(s, engine.getSimulationInformation().currentSimulationTime())).toList();
 	}
 
@@ -145,34 +252,15 @@ public abstract class Camera {
 	}
 
 	/**
-	 *
-	 * Get {@link ModelAdjustmentRequested} events, that happened at the point in
-	 * time the snapshot was taken, but did not trigger it.
-	 *
-	 * As there is no guarantee on the order of events, that happen at the same
-	 * point in time, the {@link ModelAdjustmentRequested} events are either
-	 * directly scheduled, or already wrapped into {@link SnapshotInitiated} or
-	 * {@link SnapshotTaken} events.
-	 *
-	 * @return upcoming {@link ModelAdjustmentRequested} events.
+	 * Classify the events from the FEL in a single pass.
+	 * 
+	 * Getting the scheduled events from the engine copies the entire FEL, thus
+	 * this should happen only once per snapshot.
+	 * 
+	 * @return classified events from the FEL.
 	 */
-	protected List<ModelAdjustmentRequested> getScheduledReconfigurations() {
-		final List<ModelAdjustmentRequested> events = new ArrayList<>();
-
-		/* Scheduled ModelAdjustmentRequested */
-		engine.getScheduledEvents().stream().filter(ModelAdjustmentRequested.class::isInstance)
-				.map(ModelAdjustmentRequested.class::cast).forEach(events::add);
-
-		/* ModelAdjustmentRequested already processed into SnapshotInitiated events */
-		engine.getScheduledEvents().stream().filter(SnapshotInitiated.class::isInstance)
-				.map(SnapshotInitiated.class::cast).filter(e -> e.getTriggeringEvent().isPresent())
-				.forEach(e -> events.add(e.getTriggeringEvent().get()));
-
-		/* ModelAdjustmentRequested already processed into SnapshotTaken events */
-		engine.getScheduledEvents().stream().filter(SnapshotTaken.class::isInstance).map(SnapshotTaken.class::cast)
-				.filter(e -> e.getTriggeringEvent().isPresent()).forEach(e -> events.add(e.getTriggeringEvent().get()));
-
-		return events;
+	protected ScheduledEvents scanScheduledEvents() {
+		return ScheduledEvents.classify(engine.getScheduledEvents());
 	}
 
 	/**
@@ -186,18 +274,14 @@ public abstract class Camera {
 	 * @return
 	 */
 	protected Set<JobInitiated> createInitEventsForProcSharing(final Set<RecordedJob> jobrecords) {
-		final Set<JobInitiated> rval = new HashSet<>();
-
-		for (final RecordedJob jobRecord : jobrecords) {
+		return this.mapAll(jobrecords, jobRecord -> {
 			// do the Proc Sharing Math
 			final double ratio = jobRecord.getNormalizedDemand() == 0 ? 0
 					: jobRecord.getCurrentDemand() / jobRecord.getNormalizedDemand();
 			final double reducedRequested = jobRecord.getRequestedDemand() * ratio;
-			jobRecord.getJob().updateDemand(reducedRequested);
-			rval.add(new JobInitiated(jobRecord.getJob()));
-
-		}
-		return rval;
+			this.updateDemand(jobRecord.getJob(), reducedRequested);
+			return new JobInitiated(jobRecord.getJob());
+		});
 	}
 
 	/**
@@ -220,12 +304,12 @@ public abstract class Camera {
 	 */
 	protected Set<JobInitiated> createInitEventsForFCFS(final Set<RecordedJob> jobrecords,
 			final Set<AbstractJobEvent> fcfsProgressed) {
-		final Set<JobInitiated> rval = new HashSet<>();
-
 		final Map<Job, AbstractJobEvent> progressedJobs = new HashMap<>();
 		fcfsProgressed.stream().forEach(event -> progressedJobs.put(event.getEntity(), event));
 
-		for (final RecordedJob record : jobrecords) {
+		final double simulationTime = engine.getSimulationInformation().currentSimulationTime();
+
+		return this.mapAll(jobrecords, record -> {
 			if (record.getNormalizedDemand() == 0) { // For Linking Jobs.
 				if (record.getJob().getDemand() != 0) {
 					throw new IllegalStateException(
@@ -235,16 +319,44 @@ public abstract class Camera {
 			} else if (progressedJobs.keySet().contains(record.getJob())) {
 				final AbstractJobEvent event = progressedJobs.get(record.getJob());
 				// time equals remaining demand because of normalization.
-				final double remainingDemand = event.time() - engine.getSimulationInformation().currentSimulationTime();
+				final double remainingDemand = event.time() - simulationTime;
 				final double factor = record.getRequestedDemand() / record.getNormalizedDemand();
 				final double denormalizedRemainingDemand = remainingDemand * factor;
-				record.getJob().updateDemand(denormalizedRemainingDemand);
+				this.updateDemand(record.getJob(), denormalizedRemainingDemand);
 			} else {
-				record.getJob().updateDemand(record.getRequestedDemand());
+				this.updateDemand(record.getJob(), record.getRequestedDemand());
+			}
+			return new JobInitiated(record.getJob());
+		});
+	}
+
+	/**
+	 * Apply the given function to all given elements, in parallel, if the camera
+	 * has a pool, that is not yet shut down.
+	 * 
+	 * The function must only change state, that belongs to the element it is
+	 * applied to.
+	 * 
+	 * @param <T>      type of the elements
+	 * @param <R>      type of the results
+	 * @param elements elements to apply the function to.
+	 * @param function function to be applied, null results are dropped.
+	 * @return set of all non-null results.
+	 */
+	private <T, R> Set<R> mapAll(final Collection<T> elements, final Function<T, R> function) {
+		if (pool == null || pool.isShutdown()) {
+			final Set<R> results = new HashSet<>(elements.size());
+			for (final T element : elements) {
+				final R result = function.apply(element);
+				if (result != null) {
+					results.add(result);
+				}
 			}
-			rval.add(new JobInitiated(record.getJob()));
+			return results;
 		}
-		return rval;
+		// parallel streams started within a pool run on that pool.
+		return pool.submit(() -> elements.parallelStream().map(function).filter(Objects::nonNull)
+				.collect(Collectors.toSet())).join();
 	}
 
 	/**
@@ -282,25 +394,25 @@ public abstract class Camera {
 	}
 
 	/**
-	 * Create a copy of the given event with reduced remaining think time / delay.
+	 * Save the remaining think time of the given event in the event's time
+	 * attribute.
 	 * 
-	 * Must create a copy, because think time get directly transformed to delay, and
-	 * delay is immutable.
+	 * The delay is immutable, and creating a copy with reduced delay requires a
+	 * new think time, i.e. a new random variable, that must be evaluated. Thus,
+	 * the event is not copied, but the remaining think time is saved as a number
+	 * in the time attribute, and written as the event's delay on serialisation.
+	 * The event keeps its original think time.
 	 * 
-	 * @param event thinktime (delay) of this event will be reduced
-	 * @return copy of the given event with reduced remaining thinktime.
+	 * @param event event to save the remaining think time (delay) for.
+	 * @return the given event, with the remaining think time as time.
 	 */
 	protected DESEvent reduceThinktime(final ClosedWorkloadUserInitiated event) {
 		final double simulationTime = engine.getSimulationInformation().currentSimulationTime();
+		final double eventTime = event.time();
 
-		final double remainingthinktime = event.time() - simulationTime;
-
-		final CoreFactory coreFactory = CoreFactory.eINSTANCE;
-		final PCMRandomVariable var = coreFactory.createPCMRandomVariable();
-		var.setSpecification(String.valueOf(remainingthinktime));
-
-		final ThinkTime newThinktime = new ThinkTime(var);
-		return new ClosedWorkloadUserInitiated(event.getEntity(), newThinktime);
+		this.remember(() -> event.setTime(eventTime));
+		event.setTime(eventTime - simulationTime);
+		return event;
 	}
 
 	/**
@@ -331,6 +443,7 @@ public abstract class Camera {
 	 * @param event          the event to be modified
 	 */
 	private void setOffset(final double eventTime, final double simulationTime, final ModelPassedEvent<?> event) {
+		this.remember(() -> event.setTime(eventTime));
 		if (eventTime < 0) {
 			final double offset = -(eventTime - simulationTime);
 			event.setTime(offset);
@@ -343,31 +456,46 @@ public abstract class Camera {
 	/**
 	 * Collect all events for reinitialising the simulator.
 	 * 
+	 * @param scheduled classified events from the FEL, c.f.
+	 *                  {@link Camera#scanScheduledEvents()}. The relevant events
+	 *                  are changed.
 	 * @return Set off all events for reinitialising the simulator.
 	 */
-	protected Set<DESEvent> collectAndOffsetEvents() {
-		final Set<DESEvent> relevantEvents = engine.getScheduledEvents();
+	protected Set<DESEvent> collectAndOffsetEvents(final ScheduledEvents scheduled) {
+		final Set<DESEvent> relevantEvents = scheduled.getRelevantEvents();
 
-		this.handleFELAbortions(relevantEvents);
-		relevantEvents.removeIf(e -> this.isAbortion(e));
+		this.handleFELAbortions(scheduled);
 
 		// get events to recreate state of queues
 		final Set<RecordedJob> fcfsRecords = record.getFCFSJobRecords();
 		final Set<RecordedJob> procsharingRecords = record.getProcSharingJobRecords();
+		this.fcfsJobs = fcfsRecords.size();
+		this.procSharingJobs = procsharingRecords.size();
 
-		final Set<AbstractJobEvent> progressedFcfs = relevantEvents.stream()
-				.filter(e -> (e instanceof JobProgressed) || (e instanceof JobFinished)).map(e -> (AbstractJobEvent) e)
-				.collect(Collectors.toSet());
-
-		relevantEvents.addAll(this.createInitEventsForFCFS(fcfsRecords, progressedFcfs));
+		relevantEvents.addAll(this.createInitEventsForFCFS(fcfsRecords, scheduled.getProgressedJobs()));
 		relevantEvents.addAll(this.createInitEventsForProcSharing(procsharingRecords));
 
 		relevantEvents.addAll(record.getRecordedCalculators());
 
-		relevantEvents.removeIf(e -> this.isFake(e));
+		return this.mapAll(relevantEvents, event -> isFake(event) ? null : adjustOffset.apply(event));
+	}
 
-		final Set<DESEvent> offsettedEvents = relevantEvents.stream().map(adjustOffset).collect(Collectors.toSet());
-		return offsettedEvents;
+	/**
+	 * Create the metrics on the snapshot, that is being taken.
+	 * 
+	 * Must be called after {@link Camera#collectAndOffsetEvents(ScheduledEvents)}.
+	 * 
+	 * @param start  {@link System#nanoTime()} at the start of taking the snapshot.
+	 * @param events all events of the snapshot.
+	 * @return metrics on the snapshot.
+	 */
+	protected SnapshotMetrics createMetrics(final long start, final Collection<DESEvent> events) {
+		final Map<String, Integer> eventsByType = new HashMap<>();
+		for (final DESEvent event : events) {
+			eventsByType.merge(event.getClass().getSimpleName(), 1, Integer::sum);
+		}
+		final double capturePause = (System.nanoTime() - start) / 1e6;
+		return new SnapshotMetrics(capturePause, eventsByType, fcfsJobs, procSharingJobs);
 	}
 
 	/**
@@ -388,21 +516,19 @@ public abstract class Camera {
 	 * Note: [S3] i did not manage to create this scenario manually, thus this is
 	 * untested.
 	 * 
-	 * @param felEvents events from the FEL
+	 * @param scheduled classified events from the FEL
 	 */
-	private void handleFELAbortions(final Set<DESEvent> felEvents) {
-		final List<JobAborted> abortions = felEvents.stream().filter(e -> (e instanceof JobAborted) && !this.isFake(e)).map(e -> (JobAborted) e).toList();
+	private void handleFELAbortions(final ScheduledEvents scheduled) {
+		final List<JobAborted> abortions = scheduled.getJobAbortions();
 		
 		abortions.stream().forEach(e -> record.removeJobRecord(e));
 
 		final List<User> users = abortions.stream().filter(e -> e.getEntity() instanceof ActiveJob).map(e -> (ActiveJob) e.getEntity()).map(e -> e.getRequest().getSeffInterpretationContext().getRequestProcessingContext().getUser()).toList();
 		users.stream().forEach(e -> record.removeOpenCalculators(e));
 		
-		felEvents.stream().filter(e -> (e instanceof UserAborted) && !this.isFake(e)).map(e -> (UserAborted) e)
-				.forEach(e -> record.removeOpenCalculators(e.getEntity().getUser()));
+		scheduled.getUserAbortions().forEach(e -> record.removeOpenCalculators(e.getEntity().getUser()));
 		
-		felEvents.stream().filter(e -> (e instanceof ResourceDemandRequestAborted) && !this.isFake(e)).map(e -> (ResourceDemandRequestAborted) e)
-				.forEach(e -> record.removeOpenCalculators(e.getEntity().getUser()));
+		scheduled.getRequestAbortions().forEach(e -> record.removeOpenCalculators(e.getEntity().getUser()));
 	}
 
 	/**
@@ -412,7 +538,7 @@ public abstract class Camera {
 	 * @return true, if the event was injected for triggering a state update, false
 	 *         if it occured "naturally"
 	 */
-	private boolean isFake(final DESEvent event) {
+	private static boolean isFake(final DESEvent event) {
 		if (event instanceof final AbstractJobEvent jobEvent) {
 			return jobEvent.getEntity().getId().equals(FAKE);
 		} else {
@@ -428,8 +554,133 @@ public abstract class Camera {
 	 * @param event
 	 * @return true, if the evens is any event of the abortion handling.
 	 */
-	private boolean isAbortion(final DESEvent event) {
+	private static boolean isAbortion(final DESEvent event) {
 		return JobAborted.class.isInstance(event) || ResourceDemandRequestAborted.class.isInstance(event) ||  UserAborted.class.isInstance(event);
 		
 	}
+
+	/**
+	 * Events from the FEL, partitioned into all the groups the camera needs.
+	 * 
+	 * The FEL is traversed only once, no matter how many groups there are. Each
+	 * event is checked against the groups in the order of the {@code if} cascade
+	 * in {@link ScheduledEvents#classify(Collection)}, and ends up in all groups
+	 * it belongs to.
+	 * 
+	 * @author Sophie Stieß
+	 *
+	 */
+	protected static final class ScheduledEvents {
+
+		/** All events, except for the events of the abortion handling. */
+		private final Set<DESEvent> relevantEvents = new HashSet<>();
+
+		private final List<ModelAdjustmentRequested> reconfigurations = new ArrayList<>();
+		private final Set<AbstractJobEvent> progressedJobs = new HashSet<>();
+
+		private final List<JobAborted> jobAbortions = new ArrayList<>();
+		private final List<UserAborted> userAbortions = new ArrayList<>();
+		private final List<ResourceDemandRequestAborted> requestAbortions = new ArrayList<>();
+
+		private ScheduledEvents() {
+			// use classify instead.
+		}
+
+		/**
+		 * Classify the given events from the FEL.
+		 * 
+		 * @param felEvents events from the FEL.
+		 * @return classified events.
+		 */
+		static ScheduledEvents classify(final Collection<DESEvent> felEvents) {
+			final ScheduledEvents scheduled = new ScheduledEvents();
+
+			for (final DESEvent event : felEvents) {
+				if (isAbortion(event)) {
+					if (!isFake(event)) {
+						scheduled.addAbortion(event);
+					}
+					continue;
+				}
+
+				scheduled.relevantEvents.add(event);
+
+				if (event instanceof final ModelAdjustmentRequested adjustment) {
+					scheduled.reconfigurations.add(adjustment);
+				} else if (event instanceof final SnapshotInitiated initiated) {
+					/* ModelAdjustmentRequested already processed into SnapshotInitiated events */
+					initiated.getTriggeringEvent().ifPresent(scheduled.reconfigurations::add);
+				} else if (event instanceof final SnapshotTaken taken) {
+					/* ModelAdjustmentRequested already processed into SnapshotTaken events */
+					taken.getTriggeringEvent().ifPresent(scheduled.reconfigurations::add);
+				} else if (event instanceof JobProgressed || event instanceof JobFinished) {
+					scheduled.progressedJobs.add((AbstractJobEvent) event);
+				}
+			}
+			return scheduled;
+		}
+
+		private void addAbortion(final DESEvent event) {
+			if (event instanceof final JobAborted jobAborted) {
+				jobAbortions.add(jobAborted);
+			} else if (event instanceof final UserAborted userAborted) {
+				userAbortions.add(userAborted);
+			} else if (event instanceof final ResourceDemandRequestAborted requestAborted) {
+				requestAbortions.add(requestAborted);
+			}
+		}
+
+		/**
+		 * Beware, the returned set is not a copy.
+		 * 
+		 * @return all events from the FEL, except for the events of the abortion
+		 *         handling.
+		 */
+		public Set<DESEvent> getRelevantEvents() {
+			return relevantEvents;
+		}
+
+		/**
+		 * Get {@link ModelAdjustmentRequested} events, that happened at the point in
+		 * time the snapshot was taken, but did not trigger it.
+		 *
+		 * As there is no guarantee on the order of events, that happen at the same
+		 * point in time, the {@link ModelAdjustmentRequested} events are either
+		 * directly scheduled, or already wrapped into {@link SnapshotInitiated} or
+		 * {@link SnapshotTaken} events.
+		 *
+		 * @return upcoming {@link ModelAdjustmentRequested} events.
+		 */
+		public List<ModelAdjustmentRequested> getReconfigurations() {
+			return reconfigurations;
+		}
+
+		/**
+		 * @return {@link JobProgressed} and {@link JobFinished} events.
+		 */
+		public Set<AbstractJobEvent> getProgressedJobs() {
+			return progressedJobs;
+		}
+
+		/**
+		 * @return {@link JobAborted} events, except for fakes.
+		 */
+		public List<JobAborted> getJobAbortions() {
+			return jobAbortions;
+		}
+
+		/**
+		 * @return {@link UserAborted} events.
+		 */
+		public List<UserAborted> getUserAbortions() {
+			return userAbortions;
+		}
+
+		/**
+		 * @return {@link ResourceDemandRequestAborted} events.
+		 */
+		public List<ResourceDemandRequestAborted> getRequestAbortions() {
+			return requestAbortions;
+		}
+	}
 }
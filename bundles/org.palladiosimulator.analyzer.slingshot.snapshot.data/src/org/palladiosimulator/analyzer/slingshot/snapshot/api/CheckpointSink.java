@@ -0,0 +1,36 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.api;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorState;
+
+/**
+ * Destination for checkpoints, i.e. snapshots taken while the simulation
+ * continues, c.f. {@link Camera#takeCheckpoint}.
+ * 
+ * @author Sophie Stieß
+ *
+ */
+public interface CheckpointSink {
+
+	/**
+	 * Create a copy of the given state, that can be changed without affecting
+	 * the running simulation.
+	 * 
+	 * @param state state to be copied
+	 * @return independent copy of the state
+	 */
+	public SPDAdjustorState copy(final SPDAdjustorState state);
+
+	/**
+	 * Write the given checkpoint.
+	 * 
+	 * The snapshot refers to entities of the running simulation, that change
+	 * once this operation returns. Thus, everything that refers to the snapshot
+	 * must be done before returning, e.g. capturing it in a form, that does not
+	 * refer to the entities. Only serialising and writing that capture may
+	 * happen asynchronously.
+	 * 
+	 * @param pointInTime point in time of the checkpoint
+	 * @param snapshot    content of the checkpoint
+	 */
+	public void write(final double pointInTime, final Snapshot snapshot);
+}
@@ -1,5 +1,6 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.api;
 
+import java.util.Collection;
 import java.util.Set;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.AbstractJobEvent;
@@ -43,10 +44,14 @@ public interface EventRecorder {
 	 * Get events, that started a calculation at a calculator and the calculation is
 	 * not yet finished, i.e. the respective event to finalize the calculation did
 	 * not yet happen.
+	 * 
+	 * The returned collection may be a view on the record, i.e. it must not be
+	 * modified, and it reflects later changes of the record. Copy it, if it must
+	 * outlive further recording.
 	 *
 	 * @return event to recreate calculator states.
 	 */
-	public Set<ModelPassedEvent<?>> getRecordedCalculators();
+	public Collection<ModelPassedEvent<?>> getRecordedCalculators();
 
 	/**
 	 * Get records for jobs currently processed at a FCFS resource, i.e. the
@@ -64,6 +69,15 @@ public interface EventRecorder {
 	 */
 	public Set<RecordedJob> getProcSharingJobRecords();
 
+	/**
+	 * Get one record for each processor sharing resource, that currently
+	 * processes jobs. A resource is identified by the allocation context and the
+	 * processing resource type of its jobs.
+	 *
+	 * @return one record per processor sharing resource with jobs.
+	 */
+	public Collection<RecordedJob> getProcSharingJobRecordPerResource();
+
 	/**
 	 * Store the given event, as it started a calculation at a calculator.
 	 *
@@ -2,6 +2,7 @@ package org.palladiosimulator.analyzer.slingshot.snapshot.api;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmentRequested;
@@ -48,4 +49,12 @@ public interface Snapshot {
 	 * @return state of the {@code SPDAdjustorState} at the end of this state.
 	 */
 	public Collection<SPDAdjustorState> getSPDAdjustorStates();
+
+	/**
+	 * Get the metrics on taking this snapshot.
+	 * 
+	 * @return metrics on taking this snapshot, or empty, if the snapshot was not
+	 *         taken by a camera, e.g. because it was read from file.
+	 */
+	public Optional<SnapshotMetrics> getMetrics();
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.api;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Metrics on how expensive taking and writing a snapshot was.
+ *
+ * The capture metrics are known once the camera took the snapshot, the
+ * serialisation metrics only once the snapshot was written. Thus, the latter
+ * are added later on, c.f.
+ * {@link SnapshotMetrics#withSerialisation(double, long, long)}.
+ *
+ * All times are wall clock times in milliseconds. The metrics are serialised
+ * as is into the result state.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class SnapshotMetrics {
+
+	private final double capturePause;
+	private final Map<String, Integer> eventsByType;
+	private final int fcfsJobs;
+	private final int procSharingJobs;
+
+	/* negative, if the snapshot was not yet written. */
+	private final double serialisationTime;
+	private final long bytesWritten;
+	private final long storeBytesWritten;
+
+	/**
+	 * Create metrics of a snapshot, that was not yet written.
+	 *
+	 * @param capturePause    time the simulation was paused for taking the
+	 *                        snapshot.
+	 * @param eventsByType    number of events in the snapshot, by simple name of
+	 *                        their class.
+	 * @param fcfsJobs        number of jobs waiting at FCFS resources.
+	 * @param procSharingJobs number of jobs waiting at processor sharing
+	 *                        resources.
+	 */
+	public SnapshotMetrics(final double capturePause, final Map<String, Integer> eventsByType, final int fcfsJobs,
+			final int procSharingJobs) {
+		this(capturePause, eventsByType, fcfsJobs, procSharingJobs, -1, -1, -1);
+	}
+
+	private SnapshotMetrics(final double capturePause, final Map<String, Integer> eventsByType, final int fcfsJobs,
+			final int procSharingJobs, final double serialisationTime, final long bytesWritten,
+			final long storeBytesWritten) {
+		this.capturePause = capturePause;
+		this.eventsByType = new TreeMap<>(eventsByType);
+		this.fcfsJobs = fcfsJobs;
+		this.procSharingJobs = procSharingJobs;
+		this.serialisationTime = serialisationTime;
+		this.bytesWritten = bytesWritten;
+		this.storeBytesWritten = storeBytesWritten;
+	}
+
+	/**
+	 * Create a copy of these metrics, with the given serialisation metrics.
+	 *
+	 * @param serialisationTime time for serialising and writing the snapshot.
+	 * @param bytesWritten      size of the written snapshot.
+	 * @param storeBytesWritten size of the blobs, that were added to the content
+	 *                          store for the snapshot, 0 if the snapshot was not
+	 *                          written to a content store.
+	 * @return copy of these metrics, with the given serialisation metrics.
+	 */
+	public SnapshotMetrics withSerialisation(final double serialisationTime, final long bytesWritten,
+			final long storeBytesWritten) {
+		return new SnapshotMetrics(capturePause, eventsByType, fcfsJobs, procSharingJobs, serialisationTime,
+				bytesWritten, storeBytesWritten);
+	}
+
+	public double getCapturePause() {
+		return capturePause;
+	}
+
+	public Map<String, Integer> getEventsByType() {
+		return Map.copyOf(eventsByType);
+	}
+
+	public int getFcfsJobs() {
+		return fcfsJobs;
+	}
+
+	public int getProcSharingJobs() {
+		return procSharingJobs;
+	}
+
+	/**
+	 * @return time for serialising and writing the snapshot, or a negative value,
+	 *         if the snapshot was not yet written.
+	 */
+	public double getSerialisationTime() {
+		return serialisationTime;
+	}
+
+	/**
+	 * @return size of the written snapshot, or a negative value, if the snapshot
+	 *         was not yet written.
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * @return size of the blobs, that were added to the content store for the
+	 *         snapshot, or a negative value, if the snapshot was not yet written.
+	 */
+	public long getStoreBytesWritten() {
+		return storeBytesWritten;
+	}
+}
@@ -1,14 +1,17 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.entities;
 
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
-import org.eclipse.emf.ecore.EObject;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.ActiveJob;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.Job;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.LinkingJob;
@@ -19,8 +22,11 @@ import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.Use
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UsageModelPassedElement;
 import org.palladiosimulator.analyzer.slingshot.common.utils.events.ModelPassedEvent;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.EventRecorder;
+import org.palladiosimulator.analyzer.slingshot.snapshot.entities.RecordedJob.Scheduling;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
 import org.palladiosimulator.pcm.core.entity.Entity;
 import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourcetype.ProcessingResourceType;
 import org.palladiosimulator.pcm.seff.StartAction;
 import org.palladiosimulator.pcm.seff.StopAction;
 import org.palladiosimulator.pcm.usagemodel.Start;
@@ -40,14 +46,32 @@ public class InMemoryRecorder implements EventRecorder {
 	private static final String PROCSHARING_ID = "ProcessorSharing";
 
 	public InMemoryRecorder() {
-		this.openCalculators = new HashMap<>();
+		this.openCalculators = new OpenCalculatorStore();
 		this.openJob = new HashMap<>();
+		this.jobBuckets = new EnumMap<>(Scheduling.class);
+		for (final Scheduling scheduling : Scheduling.values()) {
+			this.jobBuckets.put(scheduling, new LinkedHashMap<>());
+		}
 	}
 
 	/* states that still change due to running simulation */
-	private final Map<User, Map<EObject, ModelPassedEvent<?>>> openCalculators;
+	private final OpenCalculatorStore openCalculators;
 	private final Map<User, RecordedJob> openJob;
 
+	/* the same records as in openJob, but bucketed by scheduling policy and resource */
+	private final Map<Scheduling, Map<ResourceKey, Set<RecordedJob>>> jobBuckets;
+
+	/* scheduling policies of the resources, that already processed a job */
+	private final Map<ResourceKey, Scheduling> schedulings = new HashMap<>();
+
+	/**
+	 * Resource processing a job, identified by allocation context and resource
+	 * type. Both are null for {@link LinkingJob}s.
+	 */
+	private record ResourceKey(AllocationContext context, ProcessingResourceType type) {
+		private static final ResourceKey LINKING = new ResourceKey(null, null);
+	}
+
 	@Override
 	public void addInitiatedCalculator(final UsageModelPassedElement<Start> event) {
 		final User user = event.getContext().getUser();
@@ -75,9 +99,6 @@ public class InMemoryRecorder implements EventRecorder {
 	}
 
 	private void addInitialCalculator(final ModelPassedEvent<?> event, final User user) {
-		if (!openCalculators.containsKey(user)) {
-			openCalculators.put(user, new HashMap<>());
-		}
 		/*
 		 * [S3] Currently, this invariant does not hold. In case of Loops in the
 		 * UsageScenario, the UsageModelPassedElement events for Start and Stop might be
@@ -86,34 +107,36 @@ public class InMemoryRecorder implements EventRecorder {
 		// assert
 		// !openCalculators.get(user).containsKey(event.getEntity().eContainer());
 
-		openCalculators.get(user).put(event.getEntity().eContainer(), event);
+		openCalculators.put(user, event.getEntity().eContainer(), event);
 	}
 
 	private void removeFinishedCalculator(final User user, final Entity entity) {
-		if (openCalculators.containsKey(user)) {
-			/*
-			 * [S3] Currently, the UsageModelPassedElement events for Start and Stop might
-			 * be delivered in the wrong order. As result, i cannot ascertain this
-			 * invariant and must instead accept "startless" stops.
-			 */
-			// assert openCalculators.get(user).containsKey(entity.eContainer()) : "missing
-			// start for received stop.";
-			if (openCalculators.get(user).containsKey(entity.eContainer())) {
-				openCalculators.get(user).remove(entity.eContainer());
-			}
-		}
+		/*
+		 * [S3] Currently, the UsageModelPassedElement events for Start and Stop might
+		 * be delivered in the wrong order. As result, i cannot ascertain this
+		 * invariant and must instead accept "startless" stops.
+		 */
+		// assert openCalculators.get(user).containsKey(entity.eContainer()) : "missing
+		// start for received stop.";
+		openCalculators.remove(user, entity.eContainer());
 	}
 	
 	@Override
 	public void removeOpenCalculators(final User user) {		
-		if (this.openCalculators.containsKey(user)) {
-			this.openCalculators.remove(user);
-		}
+		this.openCalculators.removeAll(user);
 	}
 
 	@Override
 	public void removeJobRecord(final AbstractJobEvent event) {
-		openJob.remove(this.getUser(event.getEntity()));
+		final RecordedJob record = openJob.remove(this.getUser(event.getEntity()));
+		if (record != null) {
+			final Map<ResourceKey, Set<RecordedJob>> buckets = jobBuckets.get(record.getScheduling());
+			final ResourceKey key = this.getResourceKey(record.getJob());
+			final Set<RecordedJob> bucket = buckets.get(key);
+			if (bucket != null && bucket.remove(record) && bucket.isEmpty()) {
+				buckets.remove(key);
+			}
+		}
 	}
 
 	/**
@@ -135,14 +158,28 @@ public class InMemoryRecorder implements EventRecorder {
 
 	@Override
 	public void createJobRecord(final JobInitiated event) {
+		this.createJobRecord(event, event.getEntity().getDemand());
+	}
+
+	/**
+	 * Create and store record for the job entity in the given event, with the
+	 * given requested demand.
+	 *
+	 * @param event           event holding the job entity
+	 * @param requestedDemand demand of the job, when the event was recorded
+	 */
+	void createJobRecord(final JobInitiated event, final double requestedDemand) {
 		final User user = this.getUser(event.getEntity());
 
 		if (openJob.containsKey(user)) {
 			throw new IllegalArgumentException(String.format("Cannot create Record for %s, a Record already exsits.", event.getEntity().toString()));
 		}
 
-		openJob.put(user, new RecordedJob(event.getEntity()));
+		final ResourceKey key = this.getResourceKey(event.getEntity());
+		final RecordedJob record = new RecordedJob(event.getEntity(), this.classify(key), requestedDemand);
 
+		openJob.put(user, record);
+		jobBuckets.get(record.getScheduling()).computeIfAbsent(key, k -> new LinkedHashSet<>()).add(record);
 	}
 	
 	/**
@@ -150,84 +187,114 @@ public class InMemoryRecorder implements EventRecorder {
 	 */
 	@Override
 	public void updateJobRecord(final JobInitiated event) {
+		this.updateJobRecord(event, event.getEntity().getDemand());
+	}
+
+	/**
+	 * Set the given normalised demand for the record associated with job in the
+	 * given event.
+	 *
+	 * @param event            event holding the job entity
+	 * @param normalizedDemand demand of the job, when the event was recorded
+	 */
+	void updateJobRecord(final JobInitiated event, final double normalizedDemand) {
 		final User user = this.getUser(event.getEntity());
 
 		if (!openJob.containsKey(user)) {
 			throw new IllegalArgumentException(String.format("Cannot update %s, missing Record.", event.getEntity().toString()));
 		}
 
-		openJob.get(user).setNormalizedDemand(event.getEntity().getDemand());
+		openJob.get(user).setNormalizedDemand(normalizedDemand);
 	}
 
 	@Override
-	public Set<ModelPassedEvent<?>> getRecordedCalculators() {
-		final Set<ModelPassedEvent<?>> rval = new HashSet<>();
-		openCalculators.values().stream().forEach(adq -> rval.addAll(adq.values()));
-		return rval;
+	public Collection<ModelPassedEvent<?>> getRecordedCalculators() {
+		return openCalculators.values();
 	}
 
 	@Override
 	public Set<RecordedJob> getFCFSJobRecords() {
-		return Set.copyOf(
-				openJob.values().stream().filter(record -> this.isFCFS(record.getJob())).collect(Collectors.toSet()));
+		return this.getJobRecords(Scheduling.FCFS);
 	}
 
 	@Override
 	public Set<RecordedJob> getProcSharingJobRecords() {
-		return Set.copyOf(openJob.values().stream().filter(record -> this.isProcSharing(record.getJob()))
-				.collect(Collectors.toSet()));
+		return this.getJobRecords(Scheduling.PROCESSOR_SHARING);
+	}
+
+	@Override
+	public Collection<RecordedJob> getProcSharingJobRecordPerResource() {
+		return jobBuckets.get(Scheduling.PROCESSOR_SHARING).values().stream()
+				.map(bucket -> bucket.iterator().next()).toList();
+	}
+
+	private Set<RecordedJob> getJobRecords(final Scheduling scheduling) {
+		return jobBuckets.get(scheduling).values().stream().flatMap(Set::stream)
+				.collect(Collectors.toUnmodifiableSet());
 	}
 
 	/**
+	 * Get the resource, that processes the given job.
 	 *
 	 * @param job
-	 * @return true iff job is processed by an FCFS processing resource.
+	 * @return key of the resource processing the given job
 	 */
-	private boolean isFCFS(final Job job) {
-
-		if (job instanceof LinkingJob) {
-			return true;
-		}
+	private ResourceKey getResourceKey(final Job job) {
 		if (job instanceof final ActiveJob activeJob) {
-			return jobIsOfType(activeJob, FCFS_ID);
+			return new ResourceKey(activeJob.getAllocationContext(), activeJob.getProcessingResourceType());
 		}
-		LOGGER.debug(String.format("Job of unknown type %s", job.getClass().getSimpleName()));
-		return false;
+		return ResourceKey.LINKING;
 	}
 
 	/**
+	 * Determine the scheduling policy of the given resource.
 	 *
-	 * @param job
-	 * @return true iff job is processed by an processor sharing processing resource
+	 * {@link LinkingJob}s are always processed FCFS. For {@link ActiveJob}s, the
+	 * policy is determined once per allocation context and processing resource
+	 * type, and saved for later usage.
+	 *
+	 * @param key resource processing a job
+	 * @return scheduling policy of the resource.
 	 */
-	private boolean isProcSharing(final Job job) {
-		if (job instanceof LinkingJob) {
-			return false;
-		}
-		if (job instanceof final ActiveJob activeJob) {
-			return jobIsOfType(activeJob, PROCSHARING_ID);
+	private Scheduling classify(final ResourceKey key) {
+		if (key == ResourceKey.LINKING) {
+			return Scheduling.FCFS;
 		}
-		LOGGER.debug(String.format("Job of unknown type %s", job.getClass().getSimpleName()));
-		return false;
+		return schedulings.computeIfAbsent(key, k -> this.lookupScheduling(k.context(), k.type()));
 	}
 
 	/**
+	 * Look up the scheduling policy of the given resource type, in the resource
+	 * container of the given allocation context.
 	 *
-	 * @param job
-	 * @param type_ID
-	 * @return
+	 * Uses the specification for the given resource type, or the first
+	 * specification, if the container has none for the given type.
+	 *
+	 * @param context allocation context of a job
+	 * @param type    resource type of a job
+	 * @return scheduling policy of the matching resource
 	 */
-	private boolean jobIsOfType(final ActiveJob job, final String type_ID) {
-		final Optional<ProcessingResourceSpecification> optSpec = job.getAllocationContext()
-				.getResourceContainer_AllocationContext().getActiveResourceSpecifications_ResourceContainer().stream()
-				.filter(spec -> spec instanceof ProcessingResourceSpecification).map(spec -> spec).findFirst();
+	private Scheduling lookupScheduling(final AllocationContext context, final ProcessingResourceType type) {
+		final List<ProcessingResourceSpecification> specs = context.getResourceContainer_AllocationContext()
+				.getActiveResourceSpecifications_ResourceContainer();
+
+		final Optional<ProcessingResourceSpecification> optSpec = specs.stream()
+				.filter(spec -> spec.getActiveResourceType_ActiveResourceSpecification() == type).findFirst()
+				.or(() -> specs.stream().findFirst());
 
 		if (optSpec.isEmpty()) {
 			LOGGER.debug(String.format("Missing ProcessingResourceSpecification, cannot determine Type."));
-			return false;
+			return Scheduling.OTHER;
 		}
-		return optSpec.get().getSchedulingPolicy().getId().equals(type_ID);
 
+		final String policyId = optSpec.get().getSchedulingPolicy().getId();
+		if (FCFS_ID.equals(policyId)) {
+			return Scheduling.FCFS;
+		}
+		if (PROCSHARING_ID.equals(policyId)) {
+			return Scheduling.PROCESSOR_SHARING;
+		}
+		return Scheduling.OTHER;
 	}
 
 }
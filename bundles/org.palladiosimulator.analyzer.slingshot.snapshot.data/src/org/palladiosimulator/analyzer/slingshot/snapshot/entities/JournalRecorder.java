@@ -0,0 +1,205 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.entities;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.AbstractJobEvent;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobInitiated;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFModelPassedElement;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.User;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UsageModelPassedElement;
+import org.palladiosimulator.analyzer.slingshot.common.utils.events.ModelPassedEvent;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.EventRecorder;
+import org.palladiosimulator.pcm.seff.StartAction;
+import org.palladiosimulator.pcm.seff.StopAction;
+import org.palladiosimulator.pcm.usagemodel.Start;
+import org.palladiosimulator.pcm.usagemodel.Stop;
+
+/**
+ *
+ * Implementation of {@link EventRecorder} that appends all recording requests
+ * to a journal, and applies them only once the records are requested, e.g.
+ * when taking the snapshot.
+ *
+ * The journal is a ring of preallocated, parallel arrays, holding the kind of
+ * each request, the event or user it refers to, and the demand of the job at
+ * the time of the request, where applicable. Recording thus does neither hash
+ * nor allocate.
+ *
+ * The journal is applied to an {@link InMemoryRecorder}, either if records are
+ * requested or if the journal is full. Thus, the cost of recording is paid in
+ * batches, and not on each event. The records are the same as with an
+ * {@link InMemoryRecorder}, but errors of inconsistent requests, such as a
+ * second job record for the same user, are reported only when the journal is
+ * applied.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public class JournalRecorder implements EventRecorder {
+	private static final Logger LOGGER = Logger.getLogger(JournalRecorder.class);
+
+	/** Default number of entries of the journal. */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	private static final byte ADD_USAGE_CALCULATOR = 0;
+	private static final byte REMOVE_USAGE_CALCULATOR = 1;
+	private static final byte ADD_SEFF_CALCULATOR = 2;
+	private static final byte REMOVE_SEFF_CALCULATOR = 3;
+	private static final byte REMOVE_USER_CALCULATORS = 4;
+	private static final byte CREATE_JOB = 5;
+	private static final byte UPDATE_JOB = 6;
+	private static final byte REMOVE_JOB = 7;
+
+	private final InMemoryRecorder records = new InMemoryRecorder();
+
+	/* journal, entries in [head, head + size) modulo capacity */
+	private final byte[] kinds;
+	private final Object[] subjects;
+	private final double[] demands;
+	private final int mask;
+	private int head = 0;
+	private int size = 0;
+
+	/**
+	 * Create recorder with a journal of {@link JournalRecorder#DEFAULT_CAPACITY}
+	 * entries.
+	 */
+	public JournalRecorder() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create recorder with a journal of at least the given number of entries.
+	 *
+	 * @param capacity minimal number of entries of the journal, must be positive.
+	 */
+	public JournalRecorder(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException(String.format("Capacity must be positive, but is %d.", capacity));
+		}
+		final int actualCapacity = Integer.highestOneBit(capacity - 1) << 1;
+		this.kinds = new byte[Math.max(actualCapacity, 1)];
+		this.subjects = new Object[kinds.length];
+		this.demands = new double[kinds.length];
+		this.mask = kinds.length - 1;
+	}
+
+	@Override
+	public void addInitiatedCalculator(final UsageModelPassedElement<Start> event) {
+		this.append(ADD_USAGE_CALCULATOR, event, 0);
+	}
+
+	@Override
+	public void removeFinishedCalculator(final UsageModelPassedElement<Stop> event) {
+		this.append(REMOVE_USAGE_CALCULATOR, event, 0);
+	}
+
+	@Override
+	public void addInitiatedCalculator(final SEFFModelPassedElement<StartAction> event) {
+		this.append(ADD_SEFF_CALCULATOR, event, 0);
+	}
+
+	@Override
+	public void removeFinishedCalculator(final SEFFModelPassedElement<StopAction> event) {
+		this.append(REMOVE_SEFF_CALCULATOR, event, 0);
+	}
+
+	@Override
+	public void removeOpenCalculators(final User user) {
+		this.append(REMOVE_USER_CALCULATORS, user, 0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The demand is recorded now, as the job's demand changes while the job is
+	 * processed.
+	 */
+	@Override
+	public void createJobRecord(final JobInitiated event) {
+		this.append(CREATE_JOB, event, event.getEntity().getDemand());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The demand is recorded now, as the job's demand changes while the job is
+	 * processed.
+	 */
+	@Override
+	public void updateJobRecord(final JobInitiated event) {
+		this.append(UPDATE_JOB, event, event.getEntity().getDemand());
+	}
+
+	@Override
+	public void removeJobRecord(final AbstractJobEvent event) {
+		this.append(REMOVE_JOB, event, 0);
+	}
+
+	@Override
+	public Collection<ModelPassedEvent<?>> getRecordedCalculators() {
+		this.apply();
+		return records.getRecordedCalculators();
+	}
+
+	@Override
+	public Set<RecordedJob> getFCFSJobRecords() {
+		this.apply();
+		return records.getFCFSJobRecords();
+	}
+
+	@Override
+	public Set<RecordedJob> getProcSharingJobRecords() {
+		this.apply();
+		return records.getProcSharingJobRecords();
+	}
+
+	@Override
+	public Collection<RecordedJob> getProcSharingJobRecordPerResource() {
+		this.apply();
+		return records.getProcSharingJobRecordPerResource();
+	}
+
+	private void append(final byte kind, final Object subject, final double demand) {
+		if (size == kinds.length) {
+			LOGGER.debug(String.format("Journal is full, applying %d entries.", size));
+			this.apply();
+		}
+		final int index = (head + size) & mask;
+		kinds[index] = kind;
+		subjects[index] = subject;
+		demands[index] = demand;
+		size++;
+	}
+
+	/**
+	 * Apply all entries of the journal to the records, in order of appearance, and
+	 * clear the journal.
+	 */
+	@SuppressWarnings("unchecked")
+	private void apply() {
+		while (size > 0) {
+			final byte kind = kinds[head];
+			final Object subject = subjects[head];
+			final double demand = demands[head];
+			subjects[head] = null;
+			head = (head + 1) & mask;
+			size--;
+
+			switch (kind) {
+			case ADD_USAGE_CALCULATOR -> records.addInitiatedCalculator((UsageModelPassedElement<Start>) subject);
+			case REMOVE_USAGE_CALCULATOR -> records.removeFinishedCalculator((UsageModelPassedElement<Stop>) subject);
+			case ADD_SEFF_CALCULATOR -> records.addInitiatedCalculator((SEFFModelPassedElement<StartAction>) subject);
+			case REMOVE_SEFF_CALCULATOR -> records.removeFinishedCalculator((SEFFModelPassedElement<StopAction>) subject);
+			case REMOVE_USER_CALCULATORS -> records.removeOpenCalculators((User) subject);
+			case CREATE_JOB -> records.createJobRecord((JobInitiated) subject, demand);
+			case UPDATE_JOB -> records.updateJobRecord((JobInitiated) subject, demand);
+			case REMOVE_JOB -> records.removeJobRecord((AbstractJobEvent) subject);
+			default -> throw new IllegalStateException(String.format("Unknown journal entry %d.", kind));
+			}
+		}
+		head = 0;
+	}
+}
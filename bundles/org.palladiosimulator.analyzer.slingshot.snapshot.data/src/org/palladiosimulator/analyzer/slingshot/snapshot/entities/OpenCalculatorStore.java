@@ -0,0 +1,351 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.entities;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.User;
+import org.palladiosimulator.analyzer.slingshot.common.utils.events.ModelPassedEvent;
+
+/**
+ * Store for the events, that started a calculation at an open calculator, by
+ * {@link User} and container of the calculator's start element.
+ *
+ * The store is flat, i.e. it does not allocate a map per user. All entries are
+ * kept in parallel arrays of slots, that are densely packed and reused. Two
+ * open addressing tables of slot numbers index the slots by (user, container)
+ * and by user. The slots of a user are linked to each other, such that
+ * removing all entries of a user touches only the entries of that user.
+ *
+ * As the slots are densely packed, {@link OpenCalculatorStore#values()} is a
+ * view on the slots, that does not copy any entries.
+ *
+ * Keys are compared with {@link Object#equals(Object)}, just like in a
+ * {@link java.util.HashMap}. The store is not thread-safe.
+ *
+ * @author Sophie Stieß
+ *
+ */
+final class OpenCalculatorStore {
+
+	private static final int NONE = -1;
+	private static final int INITIAL_CAPACITY = 64;
+
+	/* slots, densely packed in [0, size) */
+	private User[] users;
+	private EObject[] containers;
+	private ModelPassedEvent<?>[] events;
+	private int[] entryHashes;
+	private int[] userHashes;
+	private int[] nextOfUser;
+	private int[] prevOfUser;
+	private int size;
+
+	/* (user, container) -> slot */
+	private int[] entryTable;
+	/* user -> first slot of user */
+	private int[] userTable;
+
+	private final Collection<ModelPassedEvent<?>> values = new ValuesView();
+
+	OpenCalculatorStore() {
+		this.allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Store the given event for the given user and container. Replaces the event
+	 * previously stored for user and container, if any.
+	 *
+	 * @param user      user of the event
+	 * @param container container of the event's entity
+	 * @param event     event to be stored
+	 */
+	void put(final User user, final EObject container, final ModelPassedEvent<?> event) {
+		final int entryHash = entryHash(user, container);
+		final int existing = this.findEntry(user, container, entryHash);
+		if (existing != NONE) {
+			events[existing] = event;
+			return;
+		}
+
+		if (size == users.length) {
+			this.grow();
+		}
+
+		final int slot = size++;
+		users[slot] = user;
+		containers[slot] = container;
+		events[slot] = event;
+		entryHashes[slot] = entryHash;
+		userHashes[slot] = hash(user);
+		insert(entryTable, slot, entryHash);
+		this.linkToUser(slot);
+	}
+
+	/**
+	 * Remove the event stored for the given user and container, if any.
+	 *
+	 * @param user      user of the event
+	 * @param container container of the event's entity
+	 */
+	void remove(final User user, final EObject container) {
+		final int slot = this.findEntry(user, container, entryHash(user, container));
+		if (slot != NONE) {
+			this.removeSlot(slot);
+		}
+	}
+
+	/**
+	 * Remove all events stored for the given user, if any.
+	 *
+	 * @param user user whose events are removed
+	 */
+	void removeAll(final User user) {
+		final int position = this.findUser(user, hash(user));
+		if (position == NONE) {
+			return;
+		}
+		int slot = userTable[position];
+		while (slot != NONE) {
+			final int next = nextOfUser[slot];
+			/*
+			 * removing a slot moves the last slot into its place, thus the next slot of
+			 * the user might have moved into the removed one.
+			 */
+			final int last = size - 1;
+			this.removeSlot(slot);
+			slot = next == last ? slot : next;
+		}
+	}
+
+	/**
+	 * Get all stored events.
+	 *
+	 * @return unmodifiable view on the stored events, that reflects later changes
+	 *         of the store.
+	 */
+	Collection<ModelPassedEvent<?>> values() {
+		return values;
+	}
+
+	private int findEntry(final User user, final EObject container, final int entryHash) {
+		final int mask = entryTable.length - 1;
+		for (int i = entryHash & mask;; i = (i + 1) & mask) {
+			final int slot = entryTable[i];
+			if (slot == NONE) {
+				return NONE;
+			}
+			if (entryHashes[slot] == entryHash && Objects.equals(users[slot], user)
+					&& Objects.equals(containers[slot], container)) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * @return position of the given user in the user table, or {@code NONE}.
+	 */
+	private int findUser(final User user, final int userHash) {
+		final int mask = userTable.length - 1;
+		for (int i = userHash & mask;; i = (i + 1) & mask) {
+			final int slot = userTable[i];
+			if (slot == NONE) {
+				return NONE;
+			}
+			if (userHashes[slot] == userHash && Objects.equals(users[slot], user)) {
+				return i;
+			}
+		}
+	}
+
+	private void linkToUser(final int slot) {
+		final int position = this.findUser(users[slot], userHashes[slot]);
+		prevOfUser[slot] = NONE;
+		if (position == NONE) {
+			nextOfUser[slot] = NONE;
+			insert(userTable, slot, userHashes[slot]);
+		} else {
+			final int head = userTable[position];
+			nextOfUser[slot] = head;
+			prevOfUser[head] = slot;
+			userTable[position] = slot;
+		}
+	}
+
+	private void removeSlot(final int slot) {
+		/* unlink from the user's slots */
+		final int prev = prevOfUser[slot];
+		final int next = nextOfUser[slot];
+		if (next != NONE) {
+			prevOfUser[next] = prev;
+		}
+		if (prev != NONE) {
+			nextOfUser[prev] = next;
+		} else {
+			final int position = position(userTable, slot, userHashes[slot]);
+			if (next == NONE) {
+				delete(userTable, position, userHashes);
+			} else {
+				userTable[position] = next;
+			}
+		}
+
+		delete(entryTable, position(entryTable, slot, entryHashes[slot]), entryHashes);
+
+		/* keep the slots densely packed, by moving the last slot into the gap */
+		final int last = --size;
+		if (slot != last) {
+			this.move(last, slot);
+		}
+		users[last] = null;
+		containers[last] = null;
+		events[last] = null;
+	}
+
+	private void move(final int from, final int to) {
+		entryTable[position(entryTable, from, entryHashes[from])] = to;
+
+		final int prev = prevOfUser[from];
+		final int next = nextOfUser[from];
+		if (prev == NONE) {
+			userTable[position(userTable, from, userHashes[from])] = to;
+		} else {
+			nextOfUser[prev] = to;
+		}
+		if (next != NONE) {
+			prevOfUser[next] = to;
+		}
+
+		users[to] = users[from];
+		containers[to] = containers[from];
+		events[to] = events[from];
+		entryHashes[to] = entryHashes[from];
+		userHashes[to] = userHashes[from];
+		nextOfUser[to] = next;
+		prevOfUser[to] = prev;
+	}
+
+	private void grow() {
+		final int capacity = users.length * 2;
+		users = Arrays.copyOf(users, capacity);
+		containers = Arrays.copyOf(containers, capacity);
+		events = Arrays.copyOf(events, capacity);
+		entryHashes = Arrays.copyOf(entryHashes, capacity);
+		userHashes = Arrays.copyOf(userHashes, capacity);
+		nextOfUser = Arrays.copyOf(nextOfUser, capacity);
+		prevOfUser = Arrays.copyOf(prevOfUser, capacity);
+		this.allocateTables(capacity);
+
+		for (int slot = 0; slot < size; slot++) {
+			insert(entryTable, slot, entryHashes[slot]);
+			if (prevOfUser[slot] == NONE) {
+				insert(userTable, slot, userHashes[slot]);
+			}
+		}
+	}
+
+	private void allocate(final int capacity) {
+		users = new User[capacity];
+		containers = new EObject[capacity];
+		events = new ModelPassedEvent<?>[capacity];
+		entryHashes = new int[capacity];
+		userHashes = new int[capacity];
+		nextOfUser = new int[capacity];
+		prevOfUser = new int[capacity];
+		this.allocateTables(capacity);
+	}
+
+	/**
+	 * Tables are twice as large as the slot arrays, i.e. the load factor never
+	 * exceeds 0.5.
+	 */
+	private void allocateTables(final int capacity) {
+		entryTable = new int[capacity * 2];
+		userTable = new int[capacity * 2];
+		Arrays.fill(entryTable, NONE);
+		Arrays.fill(userTable, NONE);
+	}
+
+	private static void insert(final int[] table, final int slot, final int hash) {
+		final int mask = table.length - 1;
+		int i = hash & mask;
+		while (table[i] != NONE) {
+			i = (i + 1) & mask;
+		}
+		table[i] = slot;
+	}
+
+	/**
+	 * @return position of the given slot in the given table. The slot must be in
+	 *         the table.
+	 */
+	private static int position(final int[] table, final int slot, final int hash) {
+		final int mask = table.length - 1;
+		int i = hash & mask;
+		while (table[i] != slot) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * Delete the entry at the given position, and shift back the following
+	 * entries of the probe sequence, such that no tombstones are necessary.
+	 */
+	private static void delete(final int[] table, final int position, final int[] hashes) {
+		final int mask = table.length - 1;
+		int hole = position;
+		for (int i = (position + 1) & mask; table[i] != NONE; i = (i + 1) & mask) {
+			final int home = hashes[table[i]] & mask;
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				table[hole] = table[i];
+				hole = i;
+			}
+		}
+		table[hole] = NONE;
+	}
+
+	private static int hash(final Object key) {
+		final int h = Objects.hashCode(key);
+		return h ^ (h >>> 16);
+	}
+
+	private static int entryHash(final User user, final EObject container) {
+		return hash(31 * Objects.hashCode(user) + Objects.hashCode(container));
+	}
+
+	/**
+	 * Unmodifiable view on the events of the densely packed slots.
+	 */
+	private final class ValuesView extends AbstractCollection<ModelPassedEvent<?>> {
+
+		@Override
+		public Iterator<ModelPassedEvent<?>> iterator() {
+			return new Iterator<>() {
+				private int slot = 0;
+
+				@Override
+				public boolean hasNext() {
+					return slot < size;
+				}
+
+				@Override
+				public ModelPassedEvent<?> next() {
+					if (slot >= size) {
+						throw new NoSuchElementException();
+					}
+					return events[slot++];
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -3,12 +3,14 @@ package org.palladiosimulator.analyzer.slingshot.snapshot.entities;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmentRequested;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorState;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.Snapshot;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.SnapshotMetrics;
 
 /**
  *
@@ -25,8 +27,21 @@ public final class PlainSnapshot implements Snapshot {
 	private final Set<DESEvent> events;
 	private final List<ModelAdjustmentRequested> modelAdjustmentRequestedEvents;
 	private final Collection<SPDAdjustorState> states;
+	private final SnapshotMetrics metrics;
 
 	public PlainSnapshot(final Set<DESEvent> events, final Collection<SPDAdjustorState> states) {
+		this(events, states, null);
+	}
+
+	/**
+	 * 
+	 * @param events  events of the snapshot.
+	 * @param states  states of the SPD interpreter.
+	 * @param metrics metrics on taking the snapshot, may be null.
+	 */
+	public PlainSnapshot(final Set<DESEvent> events, final Collection<SPDAdjustorState> states,
+			final SnapshotMetrics metrics) {
+		this.metrics = metrics;
 		this.modelAdjustmentRequestedEvents = events.stream().filter(ModelAdjustmentRequested.class::isInstance).map(ModelAdjustmentRequested.class::cast).toList();
 		this.events = new HashSet<>(events);
 		this.events.removeAll(this.modelAdjustmentRequestedEvents);
@@ -48,4 +63,9 @@ public final class PlainSnapshot implements Snapshot {
 	public Collection<SPDAdjustorState> getSPDAdjustorStates() {
 		return Set.copyOf(this.states);
 	}
+
+	@Override
+	public Optional<SnapshotMetrics> getMetrics() {
+		return Optional.ofNullable(this.metrics);
+	}
 }
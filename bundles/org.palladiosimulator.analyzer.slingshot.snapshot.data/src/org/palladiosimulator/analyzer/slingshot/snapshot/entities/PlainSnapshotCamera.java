@@ -1,13 +1,13 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.entities;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorState;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.core.api.SimulationEngine;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.Camera;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.EventRecorder;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.Snapshot;
 
 /**
@@ -20,18 +20,34 @@ import org.palladiosimulator.analyzer.slingshot.snapshot.api.Snapshot;
  */
 public final class PlainSnapshotCamera extends Camera {
 	
-	public PlainSnapshotCamera(final InMemoryRecorder record, final SimulationEngine engine, final Collection<SPDAdjustorState> policyIdToValues) {
+	public PlainSnapshotCamera(final EventRecorder record, final SimulationEngine engine, final Collection<SPDAdjustorState> policyIdToValues) {
 		super(record, engine, policyIdToValues);
 	}
 
+	/**
+	 * 
+	 * @param record
+	 * @param engine
+	 * @param policyIdToValues
+	 * @param parallelism      number of threads for taking a snapshot, 1 or less
+	 *                         to take snapshots on the simulation thread only.
+	 */
+	public PlainSnapshotCamera(final EventRecorder record, final SimulationEngine engine,
+			final Collection<SPDAdjustorState> policyIdToValues, final int parallelism) {
+		super(record, engine, policyIdToValues, parallelism);
+	}
+
 	@Override
 	public Snapshot takeSnapshot() {
-		this.getScheduledReconfigurations().forEach(this::addEvent);
+		final long start = System.nanoTime();
+		final ScheduledEvents scheduled = this.scanScheduledEvents();
+
+		scheduled.getReconfigurations().forEach(this::addEvent);
 		final Collection<SPDAdjustorState> values = this.snapStates();
 		
-		final Set<DESEvent> todoEvents = new HashSet<>(this.collectAndOffsetEvents());
+		final Set<DESEvent> todoEvents = this.collectAndOffsetEvents(scheduled);
 		todoEvents.addAll(additionalEvents); 
 			
-		return new PlainSnapshot(todoEvents, values);
+		return new PlainSnapshot(todoEvents, values, this.createMetrics(start, todoEvents));
 	}
 }
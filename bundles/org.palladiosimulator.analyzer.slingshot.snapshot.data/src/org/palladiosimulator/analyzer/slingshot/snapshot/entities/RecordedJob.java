@@ -27,8 +27,18 @@ import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.enti
  */
 public class RecordedJob {
 
+	/**
+	 * Scheduling policy of the processing resource, that processes a job.
+	 */
+	public enum Scheduling {
+		FCFS, PROCESSOR_SHARING, OTHER
+	}
+
 	private final Job job;
 
+	/** Scheduling policy of the resource processing the job, determined once on creation of the record. */
+	private final Scheduling scheduling;
+
 	/** Initial demand, as defined in the model */
 	private final double requestedDemand;
 
@@ -39,16 +49,37 @@ public class RecordedJob {
 	 * create record and set requested demand.
 	 * 
 	 * @param job
+	 * @param scheduling scheduling policy of the resource processing the job.
 	 */
-	public RecordedJob(final Job job) {
+	public RecordedJob(final Job job, final Scheduling scheduling) {
+		this(job, scheduling, job.getDemand());
+	}
+
+	/**
+	 * create record with the given requested demand, e.g. because the job's
+	 * demand already changed since it was requested.
+	 * 
+	 * @param job
+	 * @param scheduling      scheduling policy of the resource processing the job.
+	 * @param requestedDemand demand as requested from the processing resource.
+	 */
+	public RecordedJob(final Job job, final Scheduling scheduling, final double requestedDemand) {
 		this.job = job;
-		this.requestedDemand = job.getDemand();
+		this.scheduling = scheduling;
+		this.requestedDemand = requestedDemand;
 	}
 
 	public Job getJob() {
 		return job;
 	}
 
+	/**
+	 * @return scheduling policy of the resource processing the job.
+	 */
+	public Scheduling getScheduling() {
+		return scheduling;
+	}
+
 	/**
 	 * @return demand as requested from the processing resource.
 	 */
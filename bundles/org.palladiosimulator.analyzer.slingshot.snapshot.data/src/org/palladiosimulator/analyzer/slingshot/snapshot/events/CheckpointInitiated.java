@@ -0,0 +1,21 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.events;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+
+/**
+ *
+ * Inform subscribers, that a checkpoint will be taken, i.e. a snapshot, after
+ * which the simulation continues.
+ * 
+ * Just like {@link SnapshotInitiated}, such that the resource simulation may
+ * update the resources internal timer in preparation of the checkpoint.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public class CheckpointInitiated extends AbstractSimulationEvent {
+
+	public CheckpointInitiated(final double delay) {
+		super(delay);
+	}
+}
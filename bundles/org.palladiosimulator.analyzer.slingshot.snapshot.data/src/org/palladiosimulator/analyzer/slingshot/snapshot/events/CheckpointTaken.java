@@ -0,0 +1,18 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.events;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+
+/**
+ *
+ * Signify, that everything is ready for the checkpoint to be taken, c.f.
+ * {@link SnapshotTaken}.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public class CheckpointTaken extends AbstractSimulationEvent {
+
+	public CheckpointTaken(final double delay) {
+		super(delay);
+	}
+}
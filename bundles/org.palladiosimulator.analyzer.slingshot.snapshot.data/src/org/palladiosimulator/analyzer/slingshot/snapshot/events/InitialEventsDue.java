@@ -0,0 +1,22 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.events;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+
+/**
+ *
+ * Inform subscribers, that the next events from the snapshot, that initialised
+ * the simulation run, are due to be scheduled.
+ * 
+ * Events from the snapshot, that are far in the future, are not materialised at
+ * the beginning of the simulation run, but only once the simulation time
+ * approaches them.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public class InitialEventsDue extends AbstractSimulationEvent {
+
+	public InitialEventsDue(final double delay) {
+		super(delay);
+	}
+}
@@ -3,6 +3,7 @@ package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.common.util.URI;
@@ -11,32 +12,95 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.exception.ModelElementWriteException;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.SerialisationDocument;
 import org.palladiosimulator.commons.emfutils.EMFLoadHelper;
 
+import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import de.uka.ipd.sdq.identifier.Identifier;
 
+/**
+ * Adapter for references to model elements.
+ *
+ * Model elements are written as their URI, relative to the file of their
+ * resource, if possible.
+ *
+ * Within a document, i.e. while a {@link SerialisationDocument} is bound to the
+ * current thread, each model element is written as URI only once. All later references to the same model element are written
+ * as the element's index in the document's dictionary, i.e. as a small
+ * integer. On reading, the dictionary is rebuilt in the order of appearance, as
+ * such, a document must be read with the same adapter configuration as it was
+ * written, and in the same order. Outside a document, model elements are always
+ * written as URI.
+ *
+ * Within a document, resolved model elements are cached by their URI, thus each
+ * model element is resolved only once, regardless of how often it is
+ * referenced. Model elements are looked up in the {@link ModelElementIndex} of
+ * the resource set first, and only resolved through EMF, if they are not in the
+ * index.
+ *
+ * The adapter itself holds no state of any document, thus it can be shared
+ * among documents and threads.
+ *
+ * @author Sophie Stieß
+ *
+ */
 public class EObjectTypeAdapter extends TypeAdapter<EObject> {
 
 	private final ResourceSet set;
 	
-	private final Map<String, URI> URIMap;
+	/* immutable, replaced if resources are added to the set. */
+	private volatile Map<String, URI> URIMap;
+	private volatile int mappedResources;
+
+	/* null, to always use the current shared index of the set. */
+	private final ModelElementIndex index;
 	
+	/**
+	 * Create an adapter, that uses the shared index of the given set, c.f.
+	 * {@link ModelElementIndex#of(ResourceSet)}.
+	 *
+	 * @param set set containing the model elements to (de)serialise.
+	 */
 	public EObjectTypeAdapter(final ResourceSet set) {
+		this(set, null);
+	}
+
+	/**
+	 * Create an adapter, that uses the given index.
+	 *
+	 * @param set   set containing the model elements to (de)serialise.
+	 * @param index index of the model elements in the given set, or null to use
+	 *              the shared index of the set.
+	 */
+	public EObjectTypeAdapter(final ResourceSet set, final ModelElementIndex index) {
 		super();
 		this.set = set;
+		this.index = index;
+		this.updateURIMap();
+	}
 
-		URIMap = new HashMap<>();
-		for (final Resource resource : set.getResources()) {
+	/**
+	 * Map the file names of all resources in the set to the resources' URIs.
+	 */
+	private void updateURIMap() {
+		final List<Resource> resources = List.copyOf(set.getResources());
+		final Map<String, URI> map = new HashMap<>();
+		for (final Resource resource : resources) {
 			
 			final URI uri = resource.getURI();
 			final String filename = uri.lastSegment();
 			
-			URIMap.put(filename, uri);
+			if (filename != null) {
+				map.put(filename, uri);
+			}
 		}
+		this.URIMap = Map.copyOf(map);
+		this.mappedResources = resources.size();
 	}
 
 	/**
@@ -47,6 +111,8 @@ public class EObjectTypeAdapter extends TypeAdapter<EObject> {
 	 * If the model element is contained in a resource with a file URI, only the file name and the fragment are written to json.
 	 * If the model element is contained in a resource that has no file URI, e.g. because it the resource has a pathmap-URI, the erntire URI is written to json.
 	 * 
+	 * If a document is open and the model element was already written within it, only its index in the document's dictionary is written.
+	 * 
 	 * @throws IOException if the model element is no contained in a resource. 
 	 */
 	@Override
@@ -62,6 +128,17 @@ public class EObjectTypeAdapter extends TypeAdapter<EObject> {
 							value.toString(), Identifier.class.isInstance(value) ? ((Identifier) value).getId() : ""));
 		}
 		
+		final SerialisationDocument document = SerialisationDocument.current();
+		if (document != null) {
+			final Map<EObject, Integer> writeDictionary = document.getWrittenModelElements();
+			final Integer index = writeDictionary.get(value);
+			if (index != null) {
+				out.value(index.longValue());
+				return;
+			}
+			writeDictionary.put(value, writeDictionary.size());
+		}
+
 		final URI uri = EcoreUtil.getURI(value);
 		if (uri.isFile()) {
 			final String file = new File(uri.toFileString()).toPath().getFileName().toString();
@@ -78,19 +155,66 @@ public class EObjectTypeAdapter extends TypeAdapter<EObject> {
 	/**
 	 * Reads the string representation of a model element to the actual model element. 
 	 * 
+	 * If the next value is a number, it is the index of an already read model element in the current document's dictionary.
+	 * 
 	 * @throws IOException if string representing the model element does not contain a file name.
 	 */
 	@Override
 	public EObject read(final JsonReader in) throws IOException {
+		final SerialisationDocument document = SerialisationDocument.current();
+
+		if (in.peek() == JsonToken.NUMBER) {
+			final int index = in.nextInt();
+			final List<EObject> readDictionary = document == null ? null : document.getReadModelElements();
+			if (readDictionary == null || index < 0 || index >= readDictionary.size()) {
+				throw new JsonParseException(String.format(
+						"Cannot resolve reference %d to a model element, because it is not defined in the current document.",
+						index));
+			}
+			return readDictionary.get(index);
+		}
+
 		final String s = in.nextString();
 		
 		if (s.isEmpty()) {
 			return null;
 		}
-		
+
+		if (document == null) {
+			return this.resolve(s);
+		}
+
+		EObject eobject = document.getResolvedModelElements().get(s);
+		if (eobject == null) {
+			eobject = this.resolve(s);
+			document.getResolvedModelElements().put(s, eobject);
+		}
+		document.getReadModelElements().add(eobject);
+		return eobject;
+	}
+
+	/**
+	 * Resolve the string representation of a model element to the actual model
+	 * element.
+	 * 
+	 * @param s string representation of a model element
+	 * @return model element represented by the given string.
+	 * @throws IOException if the string does not contain a file name.
+	 */
+	private EObject resolve(final String s) throws IOException {
 		final String file = s.split("#")[0];
+		final ModelElementIndex index = this.index != null ? this.index : ModelElementIndex.of(set);
+
+		if (mappedResources != set.getResources().size()) {
+			// resources were added or removed since the map was created.
+			this.updateURIMap();
+		}
 		
 		if (URIMap.containsKey(file)) {
+			final EObject indexed = index.find(file, s.split("#")[1]);
+			if (indexed != null) {
+				return indexed;
+			}
 			final URI uri = URIMap.get(file).appendFragment(s.split("#")[1]);
 			return EMFLoadHelper.loadAndResolveEObject(set, uri); 
 		}
@@ -98,6 +222,10 @@ public class EObjectTypeAdapter extends TypeAdapter<EObject> {
 			throw new IOException(String.format("Cannot load model element with fragment %s from resource, because file name is missing in json.", s.split("#")[1]));
 		}
 		
+		final EObject indexed = index.find(URI.createURI(s));
+		if (indexed != null) {
+			return indexed;
+		}
 		return EMFLoadHelper.loadAndResolveEObject(set, s); 
 		
 	}
@@ -0,0 +1,171 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Index of the model elements in a {@link ResourceSet}, by file name of their
+ * resource and URI fragment.
+ *
+ * The index is built once, by walking the contents of all resources accepted
+ * by the filter given on creation. Afterwards, looking up a model element is a
+ * hash lookup, instead of resolving the element through EMF.
+ *
+ * There is at most one index per {@link ResourceSet}, that is shared by all
+ * {@link EObjectTypeAdapter}s of that set, c.f.
+ * {@link ModelElementIndex#of(ResourceSet)}. The index is attached to the set
+ * as EMF adapter, thus it lives exactly as long as the set. Once built, the index is never
+ * modified, and thus safe to use from multiple threads.
+ *
+ * The models may change after the index was built, e.g. if the simulation
+ * adjusts the architecture, while events of a snapshot are still being read.
+ * Model elements added afterwards are not in the index. Model elements removed
+ * or moved afterwards are still in the index, but every hit is checked against
+ * the element's current resource and fragment, and reported as miss, if it no
+ * longer matches. Thus, callers must fall back to resolving model elements
+ * through EMF on a miss.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class ModelElementIndex extends AdapterImpl {
+
+	private static final Logger LOGGER = Logger.getLogger(ModelElementIndex.class);
+
+	/**
+	 * Filter used if none is given explicitly. Accepts all resources with file or
+	 * platform resource URI, i.e. excludes pathmap resources such as the
+	 * metamodels and default resource types.
+	 */
+	public static final Predicate<Resource> DEFAULT_FILTER = r -> r.getURI() != null
+			&& (r.getURI().isFile() || r.getURI().isPlatformResource());
+
+	/* file name -> (fragment -> model element) */
+	private final Map<String, Map<String, EObject>> elements = new HashMap<>();
+
+	private ModelElementIndex(final ResourceSet set, final Predicate<Resource> filter) {
+		for (final Resource resource : set.getResources()) {
+			if (resource.getURI() != null && filter.test(resource)) {
+				this.index(resource);
+			}
+		}
+		LOGGER.debug(String.format("Indexed model elements of %d resources.", elements.size()));
+	}
+
+	/**
+	 * Get the index of the given set, indexing all resources accepted by
+	 * {@link ModelElementIndex#DEFAULT_FILTER}, if the index does not yet exist.
+	 *
+	 * @param set set to get the index for, must not be null.
+	 * @return index of the given set.
+	 */
+	public static ModelElementIndex of(final ResourceSet set) {
+		return of(set, DEFAULT_FILTER);
+	}
+
+	/**
+	 * Get the index of the given set, indexing all resources accepted by the given
+	 * filter, if the index does not yet exist.
+	 *
+	 * If the index already exists, it is returned as is, regardless of the given
+	 * filter.
+	 *
+	 * @param set    set to get the index for, must not be null.
+	 * @param filter resources to be indexed, if the index does not yet exist.
+	 * @return index of the given set.
+	 */
+	public static ModelElementIndex of(final ResourceSet set, final Predicate<Resource> filter) {
+		synchronized (set) {
+			ModelElementIndex index = get(set);
+			if (index == null) {
+				index = new ModelElementIndex(set, filter);
+				set.eAdapters().add(index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Get the index attached to the given set.
+	 *
+	 * @param set set to get the index for.
+	 * @return index of the set, or null, if the set has no index yet.
+	 */
+	private static ModelElementIndex get(final ResourceSet set) {
+		return (ModelElementIndex) EcoreUtil.getExistingAdapter(set, ModelElementIndex.class);
+	}
+
+	@Override
+	public boolean isAdapterForType(final Object type) {
+		return type == ModelElementIndex.class;
+	}
+
+	/**
+	 * Find the model element with the given fragment in the resource with the
+	 * given file name.
+	 *
+	 * @param file     file name of the resource, i.e. the last segment of its URI.
+	 * @param fragment URI fragment of the model element.
+	 * @return the model element, or null if it is not in the index, or no longer
+	 *         at the given location.
+	 */
+	public EObject find(final String file, final String fragment) {
+		final Map<String, EObject> fragments = elements.get(file);
+		final EObject eobject = fragments == null ? null : fragments.get(fragment);
+		return eobject != null && isAt(eobject, file, fragment) ? eobject : null;
+	}
+
+	/**
+	 * Check whether the given model element is still at the location it was
+	 * indexed at.
+	 *
+	 * @param eobject  indexed model element.
+	 * @param file     file name the element was indexed at.
+	 * @param fragment fragment the element was indexed at.
+	 * @return true, if the element is still contained in a resource with the given
+	 *         file name and fragment.
+	 */
+	private static boolean isAt(final EObject eobject, final String file, final String fragment) {
+		final Resource resource = eobject.eResource();
+		return resource != null && resource.getURI() != null && file.equals(resource.getURI().lastSegment())
+				&& fragment.equals(resource.getURIFragment(eobject));
+	}
+
+	/**
+	 * Find the model element with the given URI.
+	 *
+	 * Only the file name of the URI's resource is considered. URIs other than file
+	 * or platform resource URIs are never in the index.
+	 *
+	 * @param uri URI of the model element, including the fragment.
+	 * @return the model element, or null if it is not in the index, or no longer
+	 *         at the given location.
+	 */
+	public EObject find(final URI uri) {
+		if (!(uri.isFile() || uri.isPlatformResource()) || !uri.hasFragment() || uri.lastSegment() == null) {
+			return null;
+		}
+		return this.find(uri.lastSegment(), uri.fragment());
+	}
+
+	private void index(final Resource resource) {
+		final Map<String, EObject> fragments = elements.computeIfAbsent(resource.getURI().lastSegment(),
+				file -> new HashMap<>());
+
+		final TreeIterator<EObject> iterator = resource.getAllContents();
+		while (iterator.hasNext()) {
+			final EObject eobject = iterator.next();
+			fragments.put(resource.getURIFragment(eobject), eobject);
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * Constants and helpers of the binary snapshot format.
+ *
+ * The binary format is an encoding of the JSON token stream, thus everything
+ * that can be (de)serialised to and from JSON can also be (de)serialised to and
+ * from the binary format, using the very same type adapters. The format is:
+ *
+ * <li>a header, consisting of {@link BinaryFormat#MAGIC},
+ * {@link BinaryFormat#VERSION} and the initial dictionary, i.e. the number of
+ * strings followed by each string as its UTF-8 bytes.
+ * <li>one tag per JSON token, followed by the token's payload, if any.
+ *
+ * All strings, i.e. names as well as values, are interned in a dictionary. The
+ * first occurrence of a string is written as {@link BinaryFormat#STRING}
+ * followed by its UTF-8 bytes, and appended to the dictionary. All later
+ * occurrences are written as {@link BinaryFormat#STRING_REF} followed by the
+ * string's index in the dictionary. As a result, the fully qualified class
+ * names in the "type" and "class" fields and the URIs of referenced model
+ * elements are written only once per file.
+ *
+ * Strings known before writing, e.g. the class names of the events of a
+ * snapshot, are put into the initial dictionary of the header. Thus, a reader
+ * knows them before reading the first token, e.g. to tell which types of
+ * events a snapshot contains. All other strings are defined on first use, such
+ * that writing and reading remain streaming. Files of version 1 have no initial
+ * dictionary, and can still be read.
+ *
+ * Lengths and dictionary indices are encoded as unsigned varints, integral
+ * numbers as zigzag varints and floating point numbers as their raw IEEE 754
+ * bits.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class BinaryFormat {
+
+	/** First bytes of each binary snapshot file. Never the start of valid JSON. */
+	private static final byte[] MAGIC = { (byte) 0x89, 'S', 'N', 'P' };
+	private static final int VERSION = 2;
+	private static final int VERSION_WITHOUT_DICTIONARY = 1;
+
+	/* tags of the tokens */
+	static final int BEGIN_OBJECT = 0x01;
+	static final int END_OBJECT = 0x02;
+	static final int BEGIN_ARRAY = 0x03;
+	static final int END_ARRAY = 0x04;
+	static final int NULL = 0x05;
+	static final int TRUE = 0x06;
+	static final int FALSE = 0x07;
+	static final int STRING = 0x08;
+	static final int STRING_REF = 0x09;
+	static final int LONG = 0x0A;
+	static final int DOUBLE = 0x0B;
+	static final int NUMBER = 0x0C;
+
+	private BinaryFormat() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Check whether the given stream starts with the header of the binary format.
+	 *
+	 * Does not consume any bytes of the stream.
+	 *
+	 * @param in stream to check, must support marks.
+	 * @return true, iff the stream starts with the header of the binary format.
+	 * @throws IOException if reading the stream fails.
+	 */
+	public static boolean isBinary(final InputStream in) throws IOException {
+		if (!in.markSupported()) {
+			throw new IllegalArgumentException("Stream must support marks, but does not.");
+		}
+
+		in.mark(MAGIC.length);
+		final byte[] start = in.readNBytes(MAGIC.length);
+		in.reset();
+
+		return Arrays.equals(MAGIC, start);
+	}
+
+	/**
+	 * Write the header of the binary format.
+	 *
+	 * @param out        stream to write to.
+	 * @param dictionary initial dictionary, in order of their indices.
+	 * @throws IOException if writing fails.
+	 */
+	static void writeHeader(final OutputStream out, final Collection<String> dictionary) throws IOException {
+		out.write(MAGIC);
+		out.write(VERSION);
+		writeUnsignedVarint(out, dictionary.size());
+		for (final String value : dictionary) {
+			writeUtf8(out, value);
+		}
+	}
+
+	/**
+	 * Read and check the header of the binary format.
+	 *
+	 * @param in stream to read from.
+	 * @return initial dictionary, in order of their indices.
+	 * @throws IOException if the header is missing or has an unsupported version.
+	 */
+	static List<String> readHeader(final InputStream in) throws IOException {
+		final byte[] start = in.readNBytes(MAGIC.length);
+		if (!Arrays.equals(MAGIC, start)) {
+			throw new IOException("Missing header, the input is not in the binary snapshot format.");
+		}
+		final int version = in.read();
+		if (version == VERSION_WITHOUT_DICTIONARY) {
+			return new ArrayList<>();
+		}
+		if (version != VERSION) {
+			throw new IOException(
+					String.format("Unsupported version %d of the binary snapshot format, expected %d.", version, VERSION));
+		}
+		final long size = readUnsignedVarint(in);
+		if (size > Integer.MAX_VALUE) {
+			throw new MalformedJsonException("Initial dictionary of " + size + " strings is too large.");
+		}
+		final List<String> dictionary = new ArrayList<>((int) Math.min(size, 1024));
+		for (long i = 0; i < size; i++) {
+			dictionary.add(readUtf8(in));
+		}
+		return dictionary;
+	}
+
+	static void writeUtf8(final OutputStream out, final String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeUnsignedVarint(out, bytes.length);
+		out.write(bytes);
+	}
+
+	static String readUtf8(final InputStream in) throws IOException {
+		final long length = readUnsignedVarint(in);
+		if (length > Integer.MAX_VALUE) {
+			throw new MalformedJsonException("String of length " + length + " in binary snapshot is too long.");
+		}
+		final byte[] bytes = in.readNBytes((int) length);
+		if (bytes.length != length) {
+			throw new EOFException("Unexpected end of input within string.");
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static void writeUnsignedVarint(final OutputStream out, final long value) throws IOException {
+		long remainder = value;
+		while ((remainder & ~0x7FL) != 0) {
+			out.write((int) ((remainder & 0x7F) | 0x80));
+			remainder >>>= 7;
+		}
+		out.write((int) remainder);
+	}
+
+	static long readUnsignedVarint(final InputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int b = in.read();
+			if (b == -1) {
+				throw new EOFException("Unexpected end of input within varint.");
+			}
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint, too many bytes.");
+	}
+
+	static void writeZigZagVarint(final OutputStream out, final long value) throws IOException {
+		writeUnsignedVarint(out, (value << 1) ^ (value >> 63));
+	}
+
+	static long readZigZagVarint(final InputStream in) throws IOException {
+		final long raw = readUnsignedVarint(in);
+		return (raw >>> 1) ^ -(raw & 1);
+	}
+}
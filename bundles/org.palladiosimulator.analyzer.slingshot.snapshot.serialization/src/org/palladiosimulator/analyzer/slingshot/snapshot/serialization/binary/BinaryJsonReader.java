@@ -0,0 +1,532 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * {@link JsonReader} that reads the binary snapshot format instead of JSON
+ * text.
+ *
+ * Can be used with any {@link com.google.gson.TypeAdapter}, e.g. by passing it
+ * to {@link com.google.gson.Gson#fromJson(JsonReader, java.lang.reflect.Type)}.
+ *
+ * The tags of the binary input are read directly into tokens, i.e. strings and
+ * numbers are never converted to JSON text and parsed again. Strings of the
+ * dictionary are shared, not copied.
+ *
+ * Gson's adapter for maps promotes names to values with internals of
+ * {@link JsonReader}, that a subclass cannot override. To support it, the
+ * superclass reads an endless dummy object of empty names, and always has the
+ * next of these names peeked. Promoting changes the superclass' peeked name
+ * into a string, which this reader detects, such that it returns its current
+ * name as string. Afterwards, the superclass is moved to its next dummy name.
+ *
+ * @see BinaryFormat
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class BinaryJsonReader extends JsonReader {
+
+	/* scopes of the currently open arrays and objects */
+	private static final int SCOPE_ARRAY = 0;
+	private static final int SCOPE_OBJECT_NAME = 1;
+	private static final int SCOPE_OBJECT_VALUE = 2;
+
+	/* pseudo tags, in addition to the tags of BinaryFormat */
+	private static final int PEEKED_NONE = -1;
+	private static final int PEEKED_END_OF_INPUT = -2;
+
+	private final DataInputStream in;
+	private final List<String> dictionary;
+	private final int initialDictionarySize;
+
+	private int[] scopes = new int[32];
+	private String[] pathNames = new String[32];
+	private int[] pathIndices = new int[32];
+	private int depth = 0;
+
+	/* tag of the next token, and its payload, if it was already read. */
+	private int peeked = PEEKED_NONE;
+	private String peekedString;
+	private long peekedLong;
+	private double peekedDouble;
+
+	/**
+	 * Create a new reader and read the header of the binary format from the given
+	 * stream.
+	 *
+	 * @param in stream to read from.
+	 * @throws IOException if the header is missing or invalid.
+	 */
+	public BinaryJsonReader(final InputStream in) throws IOException {
+		super(new PromotionReader());
+		this.in = new DataInputStream(in);
+		this.dictionary = BinaryFormat.readHeader(this.in);
+		this.initialDictionarySize = dictionary.size();
+
+		super.beginObject();
+		super.peek();
+	}
+
+	/**
+	 * Get the initial dictionary from the header of the input, c.f.
+	 * {@link BinaryFormat}.
+	 *
+	 * @return strings of the initial dictionary, in order of their indices.
+	 */
+	public List<String> getInitialDictionary() {
+		return List.copyOf(dictionary.subList(0, initialDictionarySize));
+	}
+
+	@Override
+	public JsonToken peek() throws IOException {
+		switch (this.peekTag()) {
+		case BinaryFormat.BEGIN_OBJECT:
+			return JsonToken.BEGIN_OBJECT;
+		case BinaryFormat.END_OBJECT:
+			return JsonToken.END_OBJECT;
+		case BinaryFormat.BEGIN_ARRAY:
+			return JsonToken.BEGIN_ARRAY;
+		case BinaryFormat.END_ARRAY:
+			return JsonToken.END_ARRAY;
+		case BinaryFormat.NULL:
+			return JsonToken.NULL;
+		case BinaryFormat.TRUE:
+		case BinaryFormat.FALSE:
+			return JsonToken.BOOLEAN;
+		case BinaryFormat.STRING:
+			return this.isNamePosition() && !this.isNamePromoted() ? JsonToken.NAME : JsonToken.STRING;
+		case BinaryFormat.LONG:
+		case BinaryFormat.DOUBLE:
+		case BinaryFormat.NUMBER:
+			return JsonToken.NUMBER;
+		default:
+			return JsonToken.END_DOCUMENT;
+		}
+	}
+
+	@Override
+	public boolean hasNext() throws IOException {
+		final int tag = this.peekTag();
+		return tag != BinaryFormat.END_OBJECT && tag != BinaryFormat.END_ARRAY && tag != PEEKED_END_OF_INPUT;
+	}
+
+	@Override
+	public void beginArray() throws IOException {
+		this.expect(BinaryFormat.BEGIN_ARRAY, JsonToken.BEGIN_ARRAY);
+		this.push(SCOPE_ARRAY);
+	}
+
+	@Override
+	public void endArray() throws IOException {
+		this.expect(BinaryFormat.END_ARRAY, JsonToken.END_ARRAY);
+		this.pop();
+	}
+
+	@Override
+	public void beginObject() throws IOException {
+		this.expect(BinaryFormat.BEGIN_OBJECT, JsonToken.BEGIN_OBJECT);
+		this.push(SCOPE_OBJECT_NAME);
+	}
+
+	@Override
+	public void endObject() throws IOException {
+		this.expect(BinaryFormat.END_OBJECT, JsonToken.END_OBJECT);
+		this.pop();
+	}
+
+	@Override
+	public String nextName() throws IOException {
+		if (this.peekTag() != BinaryFormat.STRING || !this.isNamePosition() || this.isNamePromoted()) {
+			throw this.unexpected(JsonToken.NAME);
+		}
+		final String name = peekedString;
+		peeked = PEEKED_NONE;
+		pathNames[depth - 1] = name;
+		scopes[depth - 1] = SCOPE_OBJECT_VALUE;
+		return name;
+	}
+
+	@Override
+	public String nextString() throws IOException {
+		final String value = this.peekText();
+		if (value == null) {
+			throw this.unexpected(JsonToken.STRING);
+		}
+		this.consumeValue();
+		return value;
+	}
+
+	@Override
+	public boolean nextBoolean() throws IOException {
+		final int tag = this.peekTag();
+		if (tag != BinaryFormat.TRUE && tag != BinaryFormat.FALSE) {
+			throw this.unexpected(JsonToken.BOOLEAN);
+		}
+		this.consumeValue();
+		return tag == BinaryFormat.TRUE;
+	}
+
+	@Override
+	public void nextNull() throws IOException {
+		this.expect(BinaryFormat.NULL, JsonToken.NULL);
+		this.consumeValue();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Like {@link JsonReader#nextDouble()}, strings are parsed as numbers.
+	 */
+	@Override
+	public double nextDouble() throws IOException {
+		final double value;
+		if (this.peekTag() == BinaryFormat.DOUBLE) {
+			value = peekedDouble;
+		} else if (peeked == BinaryFormat.LONG) {
+			value = peekedLong;
+		} else {
+			value = Double.parseDouble(this.requireNumberText(JsonToken.NUMBER));
+		}
+		if (!this.isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+			throw new MalformedJsonException("JSON forbids NaN and infinities: " + value + this.location());
+		}
+		this.consumeValue();
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Like {@link JsonReader#nextLong()}, strings and floating point numbers are
+	 * accepted, if they represent an integral number.
+	 */
+	@Override
+	public long nextLong() throws IOException {
+		final long value;
+		if (this.peekTag() == BinaryFormat.LONG) {
+			value = peekedLong;
+		} else if (peeked == BinaryFormat.DOUBLE) {
+			value = this.toLong(peekedDouble);
+		} else {
+			final String text = this.requireNumberText(JsonToken.NUMBER);
+			value = this.parseLong(text);
+		}
+		this.consumeValue();
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Like {@link JsonReader#nextInt()}, strings and floating point numbers are
+	 * accepted, if they represent an integral number.
+	 */
+	@Override
+	public int nextInt() throws IOException {
+		final long value;
+		if (this.peekTag() == BinaryFormat.LONG) {
+			value = peekedLong;
+		} else if (peeked == BinaryFormat.DOUBLE) {
+			value = this.toLong(peekedDouble);
+		} else {
+			value = this.parseLong(this.requireNumberText(JsonToken.NUMBER));
+		}
+		if ((int) value != value) {
+			throw new NumberFormatException("Expected an int but was " + value + this.location());
+		}
+		this.consumeValue();
+		return (int) value;
+	}
+
+	@Override
+	public void skipValue() throws IOException {
+		int count = 0;
+		do {
+			switch (this.peekTag()) {
+			case BinaryFormat.BEGIN_ARRAY -> {
+				this.beginArray();
+				count++;
+			}
+			case BinaryFormat.BEGIN_OBJECT -> {
+				this.beginObject();
+				count++;
+			}
+			case BinaryFormat.END_ARRAY -> {
+				this.endArray();
+				count--;
+			}
+			case BinaryFormat.END_OBJECT -> {
+				this.endObject();
+				count--;
+			}
+			case PEEKED_END_OF_INPUT -> {
+				return;
+			}
+			default -> {
+				if (this.isNamePosition() && !this.isNamePromoted()) {
+					this.nextName();
+				} else {
+					this.consumeValue();
+				}
+			}
+			}
+		} while (count > 0);
+	}
+
+	@Override
+	public void close() throws IOException {
+		peeked = PEEKED_NONE;
+		depth = 0;
+		in.close();
+	}
+
+	@Override
+	public String getPath() {
+		final StringBuilder path = new StringBuilder("$");
+		for (int i = 0; i < depth; i++) {
+			if (scopes[i] == SCOPE_ARRAY) {
+				path.append('[').append(pathIndices[i]).append(']');
+			} else {
+				path.append('.');
+				if (pathNames[i] != null) {
+					path.append(pathNames[i]);
+				}
+			}
+		}
+		return path.toString();
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + this.location();
+	}
+
+	/**
+	 * Read the tag and payload of the next token, if not yet read.
+	 *
+	 * Strings from the dictionary are reported as {@link BinaryFormat#STRING}.
+	 *
+	 * @return tag of the next token, or {@link BinaryJsonReader#PEEKED_END_OF_INPUT}.
+	 */
+	private int peekTag() throws IOException {
+		if (peeked != PEEKED_NONE) {
+			return peeked;
+		}
+
+		final int tag = in.read();
+		if (tag == -1) {
+			if (depth > 0) {
+				throw new EOFException("Unexpected end of input within binary snapshot" + this.location());
+			}
+			peeked = PEEKED_END_OF_INPUT;
+			return peeked;
+		}
+
+		final int scope = depth > 0 ? scopes[depth - 1] : -1;
+		if (scope == SCOPE_OBJECT_NAME && tag != BinaryFormat.STRING && tag != BinaryFormat.STRING_REF
+				&& tag != BinaryFormat.END_OBJECT) {
+			throw new MalformedJsonException("Expected name but found tag " + tag + this.location());
+		}
+		if ((tag == BinaryFormat.END_OBJECT && scope != SCOPE_OBJECT_NAME)
+				|| (tag == BinaryFormat.END_ARRAY && scope != SCOPE_ARRAY)) {
+			throw new MalformedJsonException("Unexpected end of scope" + this.location());
+		}
+
+		switch (tag) {
+		case BinaryFormat.BEGIN_OBJECT, BinaryFormat.END_OBJECT, BinaryFormat.BEGIN_ARRAY, BinaryFormat.END_ARRAY,
+				BinaryFormat.NULL, BinaryFormat.TRUE, BinaryFormat.FALSE -> peeked = tag;
+		case BinaryFormat.STRING -> {
+			peekedString = BinaryFormat.readUtf8(in);
+			dictionary.add(peekedString);
+			peeked = BinaryFormat.STRING;
+		}
+		case BinaryFormat.STRING_REF -> {
+			final long index = BinaryFormat.readUnsignedVarint(in);
+			if (index >= dictionary.size()) {
+				throw new MalformedJsonException("Reference to undefined string " + index + this.location());
+			}
+			peekedString = dictionary.get((int) index);
+			peeked = BinaryFormat.STRING;
+		}
+		case BinaryFormat.LONG -> {
+			peekedLong = BinaryFormat.readZigZagVarint(in);
+			peeked = tag;
+		}
+		case BinaryFormat.DOUBLE -> {
+			peekedDouble = Double.longBitsToDouble(in.readLong());
+			peeked = tag;
+		}
+		case BinaryFormat.NUMBER -> {
+			peekedString = BinaryFormat.readUtf8(in);
+			peeked = tag;
+		}
+		default -> throw new MalformedJsonException("Unknown tag " + tag + this.location());
+		}
+		return peeked;
+	}
+
+	/**
+	 * Get the next token as text, if it is a string, a number or a promoted name.
+	 *
+	 * @return text of the next token, or null, if it has no text.
+	 */
+	private String peekText() throws IOException {
+		switch (this.peekTag()) {
+		case BinaryFormat.STRING:
+			return this.isNamePosition() && !this.isNamePromoted() ? null : peekedString;
+		case BinaryFormat.NUMBER:
+			return peekedString;
+		case BinaryFormat.LONG:
+			return Long.toString(peekedLong);
+		case BinaryFormat.DOUBLE:
+			return Double.toString(peekedDouble);
+		default:
+			return null;
+		}
+	}
+
+	private String requireNumberText(final JsonToken expected) throws IOException {
+		final String text = this.peekText();
+		if (text == null) {
+			throw this.unexpected(expected);
+		}
+		return text;
+	}
+
+	private long parseLong(final String text) {
+		try {
+			return Long.parseLong(text);
+		} catch (final NumberFormatException e) {
+			return this.toLong(Double.parseDouble(text));
+		}
+	}
+
+	private long toLong(final double value) {
+		final long asLong = (long) value;
+		if (asLong != value) {
+			throw new NumberFormatException("Expected a long but was " + value + this.location());
+		}
+		return asLong;
+	}
+
+	/**
+	 * Consume the peeked value, or the promoted name.
+	 */
+	private void consumeValue() throws IOException {
+		if (this.isNamePosition()) {
+			// only a promoted name is consumed as value.
+			pathNames[depth - 1] = peekedString;
+			scopes[depth - 1] = SCOPE_OBJECT_VALUE;
+			this.resetPromotion();
+		} else if (depth > 0) {
+			if (scopes[depth - 1] == SCOPE_OBJECT_VALUE) {
+				scopes[depth - 1] = SCOPE_OBJECT_NAME;
+			}
+			pathIndices[depth - 1]++;
+		}
+		peeked = PEEKED_NONE;
+	}
+
+	private void expect(final int tag, final JsonToken token) throws IOException {
+		if (this.peekTag() != tag) {
+			throw this.unexpected(token);
+		}
+	}
+
+	private IllegalStateException unexpected(final JsonToken expected) throws IOException {
+		return new IllegalStateException("Expected " + expected + " but was " + this.peek() + this.location());
+	}
+
+	private void push(final int scope) {
+		if (depth > 0 && scopes[depth - 1] == SCOPE_OBJECT_VALUE) {
+			scopes[depth - 1] = SCOPE_OBJECT_NAME;
+		}
+		if (depth == scopes.length) {
+			scopes = Arrays.copyOf(scopes, depth * 2);
+			pathNames = Arrays.copyOf(pathNames, depth * 2);
+			pathIndices = Arrays.copyOf(pathIndices, depth * 2);
+		}
+		scopes[depth] = scope;
+		pathNames[depth] = null;
+		pathIndices[depth] = 0;
+		depth++;
+		peeked = PEEKED_NONE;
+	}
+
+	private void pop() {
+		depth--;
+		if (depth > 0) {
+			pathIndices[depth - 1]++;
+		}
+		peeked = PEEKED_NONE;
+	}
+
+	private boolean isNamePosition() {
+		return depth > 0 && scopes[depth - 1] == SCOPE_OBJECT_NAME;
+	}
+
+	/**
+	 * Check whether the superclass' peeked name was promoted to a value, c.f.
+	 * {@link BinaryJsonReader}. Only valid at a name position.
+	 */
+	private boolean isNamePromoted() throws IOException {
+		return super.peek() == JsonToken.STRING;
+	}
+
+	/**
+	 * Move the superclass from the promoted dummy name to the next dummy name.
+	 */
+	private void resetPromotion() throws IOException {
+		super.nextString();
+		super.nextInt();
+		super.peek();
+	}
+
+	private String location() {
+		return " at path " + this.getPath();
+	}
+
+	/**
+	 * Input of the superclass, i.e. an endless JSON object, whose names are all
+	 * empty and whose values are all 0.
+	 */
+	private static final class PromotionReader extends Reader {
+		private static final String START = "{";
+		private static final String CYCLE = "\"\":0,";
+
+		private boolean started = false;
+		private int position = 0;
+
+		@Override
+		public int read(final char[] buffer, final int offset, final int length) {
+			int count = 0;
+			if (!started && length > 0) {
+				buffer[offset] = START.charAt(0);
+				started = true;
+				count++;
+			}
+			while (count < length) {
+				buffer[offset + count] = CYCLE.charAt(position);
+				position = (position + 1) % CYCLE.length();
+				count++;
+			}
+			return count;
+		}
+
+		@Override
+		public void close() {
+			// nothing to close
+		}
+	}
+}
@@ -0,0 +1,327 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * {@link JsonWriter} that writes the binary snapshot format instead of JSON
+ * text.
+ *
+ * Can be used with any {@link com.google.gson.TypeAdapter}, e.g. by passing it
+ * to {@link com.google.gson.Gson#toJson(Object, java.lang.reflect.Type, JsonWriter)}.
+ *
+ * @see BinaryFormat
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class BinaryJsonWriter extends JsonWriter {
+
+	private static final Writer UNWRITABLE_WRITER = new Writer() {
+		@Override
+		public void write(final char[] buffer, final int offset, final int counter) {
+			throw new AssertionError();
+		}
+
+		@Override
+		public void flush() {
+			throw new AssertionError();
+		}
+
+		@Override
+		public void close() {
+			throw new AssertionError();
+		}
+	};
+
+	private final DataOutputStream out;
+	private final Map<String, Integer> dictionary = new HashMap<>();
+
+	/* name of the next value, only written together with the value. */
+	private String deferredName = null;
+
+	/**
+	 * Create a new writer and write the header of the binary format to the given
+	 * stream.
+	 *
+	 * @param out stream to write to.
+	 * @throws IOException if writing the header fails.
+	 */
+	public BinaryJsonWriter(final OutputStream out) throws IOException {
+		this(out, List.of());
+	}
+
+	/**
+	 * Create a new writer and write the header of the binary format, with the
+	 * given initial dictionary, to the given stream.
+	 *
+	 * @param out        stream to write to.
+	 * @param dictionary strings to put into the header, e.g. class names, that
+	 *                   are known to occur in the output. Duplicates are ignored.
+	 * @throws IOException if writing the header fails.
+	 */
+	public BinaryJsonWriter(final OutputStream out, final Collection<String> dictionary) throws IOException {
+		super(UNWRITABLE_WRITER);
+		this.out = new DataOutputStream(out);
+		final Set<String> initial = new LinkedHashSet<>(dictionary);
+		for (final String value : initial) {
+			this.dictionary.put(value, this.dictionary.size());
+		}
+		BinaryFormat.writeHeader(this.out, initial);
+	}
+
+	/**
+	 * Create a new writer with the same settings as the writers created by the
+	 * given Gson instance, and write the header of the binary format to the given
+	 * stream.
+	 *
+	 * Thus, the binary output is equivalent to the JSON output of
+	 * {@link Gson#newJsonWriter(Writer)}, e.g. regarding nulls and non-finite
+	 * numbers.
+	 *
+	 * @param out  stream to write to.
+	 * @param gson Gson instance to take the settings from.
+	 * @throws IOException if writing the header fails.
+	 */
+	public BinaryJsonWriter(final OutputStream out, final Gson gson) throws IOException {
+		this(out, gson, List.of());
+	}
+
+	/**
+	 * Create a new writer with the same settings as the writers created by the
+	 * given Gson instance, and write the header of the binary format, with the
+	 * given initial dictionary, to the given stream.
+	 *
+	 * @param out        stream to write to.
+	 * @param gson       Gson instance to take the settings from.
+	 * @param dictionary strings to put into the header, c.f.
+	 *                   {@link BinaryJsonWriter#BinaryJsonWriter(OutputStream, Collection)}.
+	 * @throws IOException if writing the header fails.
+	 */
+	public BinaryJsonWriter(final OutputStream out, final Gson gson, final Collection<String> dictionary)
+			throws IOException {
+		this(out, dictionary);
+		final JsonWriter settings = gson.newJsonWriter(Writer.nullWriter());
+		this.setLenient(settings.isLenient());
+		this.setHtmlSafe(settings.isHtmlSafe());
+		this.setSerializeNulls(settings.getSerializeNulls());
+	}
+
+	@Override
+	public JsonWriter beginArray() throws IOException {
+		this.writeDeferredName();
+		out.write(BinaryFormat.BEGIN_ARRAY);
+		return this;
+	}
+
+	@Override
+	public JsonWriter endArray() throws IOException {
+		out.write(BinaryFormat.END_ARRAY);
+		return this;
+	}
+
+	@Override
+	public JsonWriter beginObject() throws IOException {
+		this.writeDeferredName();
+		out.write(BinaryFormat.BEGIN_OBJECT);
+		return this;
+	}
+
+	@Override
+	public JsonWriter endObject() throws IOException {
+		if (deferredName != null) {
+			throw new IllegalStateException("Expected value for name " + deferredName + ", but object ended.");
+		}
+		out.write(BinaryFormat.END_OBJECT);
+		return this;
+	}
+
+	@Override
+	public JsonWriter name(final String name) throws IOException {
+		if (name == null) {
+			throw new NullPointerException("name == null");
+		}
+		if (deferredName != null) {
+			throw new IllegalStateException("Expected value for name " + deferredName + ", but got another name.");
+		}
+		deferredName = name;
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(final String value) throws IOException {
+		if (value == null) {
+			return this.nullValue();
+		}
+		this.writeDeferredName();
+		this.writeString(value);
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The raw JSON is parsed and written token by token, i.e. it is encoded just
+	 * like any other value.
+	 */
+	@Override
+	public JsonWriter jsonValue(final String value) throws IOException {
+		if (value == null) {
+			return this.nullValue();
+		}
+		final JsonReader reader = new JsonReader(new StringReader(value));
+		reader.setLenient(this.isLenient());
+		SnapshotFormatConverter.copy(reader, this);
+		return this;
+	}
+
+	@Override
+	public JsonWriter nullValue() throws IOException {
+		if (deferredName != null && !this.getSerializeNulls()) {
+			deferredName = null;
+			return this;
+		}
+		this.writeDeferredName();
+		out.write(BinaryFormat.NULL);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(final boolean value) throws IOException {
+		this.writeDeferredName();
+		out.write(value ? BinaryFormat.TRUE : BinaryFormat.FALSE);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(final Boolean value) throws IOException {
+		if (value == null) {
+			return this.nullValue();
+		}
+		return this.value(value.booleanValue());
+	}
+
+	@Override
+	public JsonWriter value(final float value) throws IOException {
+		return this.value((double) value);
+	}
+
+	@Override
+	public JsonWriter value(final double value) throws IOException {
+		if (!this.isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+			throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+		}
+		this.writeDeferredName();
+		out.write(BinaryFormat.DOUBLE);
+		out.writeLong(Double.doubleToRawLongBits(value));
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(final long value) throws IOException {
+		this.writeDeferredName();
+		out.write(BinaryFormat.LONG);
+		BinaryFormat.writeZigZagVarint(out, value);
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Integral numbers that fit into a long are written as varints, floats and
+	 * doubles as raw bits. Numbers of any other type are written as raw bits, if
+	 * that preserves their textual representation, or else as text.
+	 */
+	@Override
+	public JsonWriter value(final Number value) throws IOException {
+		if (value == null) {
+			return this.nullValue();
+		}
+
+		if (value instanceof Double || value instanceof Float) {
+			return this.value(value.doubleValue());
+		}
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+				|| value instanceof AtomicInteger || value instanceof AtomicLong) {
+			return this.value(value.longValue());
+		}
+
+		final String text = value.toString();
+
+		try {
+			final long asLong = Long.parseLong(text);
+			if (Long.toString(asLong).equals(text)) {
+				return this.value(asLong);
+			}
+		} catch (final NumberFormatException e) {
+			// not a long, continue.
+		}
+		try {
+			final double asDouble = Double.parseDouble(text);
+			if (Double.toString(asDouble).equals(text)) {
+				return this.value(asDouble);
+			}
+		} catch (final NumberFormatException e) {
+			// not a double, continue.
+		}
+
+		this.writeDeferredName();
+		out.write(BinaryFormat.NUMBER);
+		BinaryFormat.writeUtf8(out, text);
+		return this;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+	/**
+	 * Write the deferred name, if any.
+	 *
+	 * Names are deferred to drop them if their value is {@code null} and nulls
+	 * are not serialised.
+	 */
+	private void writeDeferredName() throws IOException {
+		if (deferredName != null) {
+			this.writeString(deferredName);
+			deferredName = null;
+		}
+	}
+
+	/**
+	 * Write the given string as reference into the dictionary or, if it is not yet
+	 * in the dictionary, as UTF-8 bytes.
+	 */
+	private void writeString(final String value) throws IOException {
+		final Integer index = dictionary.get(value);
+		if (index != null) {
+			out.write(BinaryFormat.STRING_REF);
+			BinaryFormat.writeUnsignedVarint(out, index);
+		} else {
+			dictionary.put(value, dictionary.size());
+			out.write(BinaryFormat.STRING);
+			BinaryFormat.writeUtf8(out, value);
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Converter between JSON snapshots, as defined by
+ * {@code json-schema/snapshot.schema.json}, and the binary snapshot format.
+ *
+ * The conversion works on the token streams, i.e. it neither requires the
+ * models referenced by the snapshot nor loads the entire snapshot into memory.
+ * Converting a file to the binary format and back yields the same JSON,
+ * except for whitespace.
+ *
+ * @see BinaryFormat
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class SnapshotFormatConverter {
+
+	private SnapshotFormatConverter() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Convert a JSON file to the binary format.
+	 *
+	 * @param json   location of the JSON file to read.
+	 * @param binary location of the binary file to write.
+	 * @throws IOException if reading or writing fails.
+	 */
+	public static void toBinary(final Path json, final Path binary) throws IOException {
+		try (final JsonReader reader = new JsonReader(Files.newBufferedReader(json, StandardCharsets.UTF_8));
+				final JsonWriter writer = new BinaryJsonWriter(new BufferedOutputStream(Files.newOutputStream(binary)))) {
+			copy(reader, writer);
+		}
+	}
+
+	/**
+	 * Convert a binary file to JSON.
+	 *
+	 * @param binary location of the binary file to read.
+	 * @param json   location of the JSON file to write.
+	 * @throws IOException if reading or writing fails.
+	 */
+	public static void toJson(final Path binary, final Path json) throws IOException {
+		try (final JsonReader reader = new BinaryJsonReader(new BufferedInputStream(Files.newInputStream(binary)));
+				final JsonWriter writer = new JsonWriter(Files.newBufferedWriter(json, StandardCharsets.UTF_8))) {
+			copy(reader, writer);
+		}
+	}
+
+	/**
+	 * Copy the next value, including all nested values, from the given reader to
+	 * the given writer.
+	 *
+	 * Numbers are copied in their textual representation, to not lose any
+	 * precision.
+	 *
+	 * @param reader reader to read from.
+	 * @param writer writer to write to.
+	 * @throws IOException if reading or writing fails.
+	 */
+	public static void copy(final JsonReader reader, final JsonWriter writer) throws IOException {
+		int depth = 0;
+		do {
+			switch (reader.peek()) {
+			case BEGIN_ARRAY -> {
+				reader.beginArray();
+				writer.beginArray();
+				depth++;
+			}
+			case END_ARRAY -> {
+				reader.endArray();
+				writer.endArray();
+				depth--;
+			}
+			case BEGIN_OBJECT -> {
+				reader.beginObject();
+				writer.beginObject();
+				depth++;
+			}
+			case END_OBJECT -> {
+				reader.endObject();
+				writer.endObject();
+				depth--;
+			}
+			case NAME -> writer.name(reader.nextName());
+			case STRING -> writer.value(reader.nextString());
+			case NUMBER -> writer.value(new TextualNumber(reader.nextString()));
+			case BOOLEAN -> writer.value(reader.nextBoolean());
+			case NULL -> {
+				reader.nextNull();
+				writer.nullValue();
+			}
+			case END_DOCUMENT -> throw new JsonParseException("Unexpected end of document.");
+			}
+		} while (depth > 0);
+	}
+
+	/**
+	 * Number that keeps the textual representation it was read with.
+	 */
+	private static final class TextualNumber extends Number {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String text;
+
+		private TextualNumber(final String text) {
+			this.text = text;
+		}
+
+		@Override
+		public int intValue() {
+			return (int) this.longValue();
+		}
+
+		@Override
+		public long longValue() {
+			try {
+				return Long.parseLong(text);
+			} catch (final NumberFormatException e) {
+				return (long) this.doubleValue();
+			}
+		}
+
+		@Override
+		public float floatValue() {
+			return Float.parseFloat(text);
+		}
+
+		@Override
+		public double doubleValue() {
+			return Double.parseDouble(text);
+		}
+
+		@Override
+		public String toString() {
+			return text;
+		}
+	}
+}
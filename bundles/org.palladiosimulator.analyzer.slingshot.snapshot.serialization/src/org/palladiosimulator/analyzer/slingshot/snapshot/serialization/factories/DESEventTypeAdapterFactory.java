@@ -1,9 +1,10 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -11,6 +12,8 @@ import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.common.events.AbstractGenericEvent;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.exception.ModelElementWriteException;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.SerialisationDocument;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.SnapshotSerialisationUtils;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
@@ -49,20 +52,64 @@ public class DESEventTypeAdapterFactory implements TypeAdapterFactory {
 	 */
 	public static final String FIELD_NAME_GENERIC_TYPE_TOKEN = "genericTypeToken";
 
+	/**
+	 * Name of the field containing the delay in {@link DESEvent}s. Must be
+	 * adapted, if the field name ever changes.
+	 */
+	public static final String FIELD_NAME_DELAY = "delay";
+
+	/**
+	 * Name of the field containing the id in {@link DESEvent}s. Must be adapted,
+	 * if the field name ever changes.
+	 */
+	public static final String FIELD_NAME_ID = "id";
+
+	/**
+	 * Dispatch for all events, regardless of whether their types are known up
+	 * front.
+	 */
+	private static final TypeDispatch EVENTS = TypeDispatch.of(Set.of(TypeToken.get(DESEvent.class)));
+
 	/**
 	 * According to ducumentation, creating delegators is costly, thus we save them, if
 	 * possible.
 	 */
-	private final Map<TypeToken<?>, TypeAdapter<DESEvent>> eventDelegators = new HashMap<>();
+	private final Map<TypeToken<?>, TypeAdapter<DESEvent>> eventDelegators = new ConcurrentHashMap<>();
+
+	/**
+	 * Direct mapping from the names in the JSON to classes and from classes to
+	 * delegators, such that reading an event requires neither a class lookup by
+	 * name nor the construction of a type token.
+	 */
+	private final Map<String, Class<?>> eventClasses = new ConcurrentHashMap<>();
+	private final Map<Class<?>, TypeAdapter<DESEvent>> simpleDelegators = new ConcurrentHashMap<>();
 	
 	private final Set<TypeToken<?>> types; 
 
+	/**
+	 * Classes of events, whose remaining delay is carried in their time, because
+	 * the delay itself is immutable.
+	 */
+	private final Set<Class<?>> delayFromTimeTypes;
 		
 	/**
 	 * Instantiate the factory.
 	 */
 	public DESEventTypeAdapterFactory(final Set<TypeToken<?>> types) {
+		this(types, Set.of());
+	}
+
+	/**
+	 * Instantiate the factory.
+	 * 
+	 * @param types              types of events to create delegators for up front.
+	 * @param delayFromTimeTypes classes of events, whose time is written as their
+	 *                           delay. On reading, the events get scheduled with
+	 *                           that delay.
+	 */
+	public DESEventTypeAdapterFactory(final Set<TypeToken<?>> types, final Set<Class<?>> delayFromTimeTypes) {
 		this.types = types;
+		this.delayFromTimeTypes = delayFromTimeTypes;
 	}
 	
 	
@@ -73,7 +120,7 @@ public class DESEventTypeAdapterFactory implements TypeAdapterFactory {
 	 */
 	@Override
 	public final <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
-		if (DESEvent.class.isAssignableFrom(type.getRawType())) {
+		if (EVENTS.matches(type.getRawType())) {
 			if (eventDelegators.isEmpty()) {
 				initializeDelegators(gson);
 			}
@@ -86,8 +133,13 @@ public class DESEventTypeAdapterFactory implements TypeAdapterFactory {
 	
 	private void initializeDelegators(final Gson gson) {
 		for (final TypeToken<?> typeToken : types) {
-			eventDelegators.putIfAbsent(typeToken,
-					(TypeAdapter<DESEvent>) gson.getDelegateAdapter(this, typeToken));
+			final TypeAdapter<DESEvent> delegator = (TypeAdapter<DESEvent>) gson.getDelegateAdapter(this, typeToken);
+			eventDelegators.putIfAbsent(typeToken, delegator);
+
+			if (typeToken.getType() == typeToken.getRawType()) {
+				eventClasses.putIfAbsent(typeToken.getRawType().getCanonicalName(), typeToken.getRawType());
+				simpleDelegators.putIfAbsent(typeToken.getRawType(), delegator);
+			}
 		}
 	}
 	
@@ -98,15 +150,23 @@ public class DESEventTypeAdapterFactory implements TypeAdapterFactory {
 		return new TypeAdapter<DESEvent>() {
 			@Override
 			public void write(final JsonWriter out, final DESEvent value) throws IOException {
+				final SerialisationDocument document = SerialisationDocument.current();
+				final SerialisationDocument.Mark mark = document == null ? null : document.mark();
 				try {
 					final JsonObject obj = new JsonObject();
 					obj.addProperty(FIELD_NAME_CLASS, value.getClass().getCanonicalName());
-					obj.add(FIELD_NAME_EVENT, delegate.toJsonTree(value));
+					final JsonElement event = delegate.toJsonTree(value);
+					if (delayFromTimeTypes.contains(value.getClass()) && event.isJsonObject()) {
+						event.getAsJsonObject().addProperty(FIELD_NAME_DELAY, value.time());
+					}
+					obj.add(FIELD_NAME_EVENT, event);
 					elementAdapter.write(out, obj);
 				} catch (final ModelElementWriteException e) {
+					this.resetDocument(document, mark);
 					LOGGER.info(String.format("Skip event %s with reason: \"%s\".", value.toString(), e.getMessage()));			
 				} catch (final JsonIOException e) {
 					if (e.getCause() instanceof ModelElementWriteException) {
+						this.resetDocument(document, mark);
 						LOGGER.info(String.format("Skip event %s with reason: \"%s\".", value.toString(), e.getCause().getMessage()));			
 					} else {
 						throw e;
@@ -114,6 +174,16 @@ public class DESEventTypeAdapterFactory implements TypeAdapterFactory {
 				}
 			}
 
+			/**
+			 * Forget everything the skipped event registered in the document, as
+			 * nothing of it is written.
+			 */
+			private void resetDocument(final SerialisationDocument document, final SerialisationDocument.Mark mark) {
+				if (document != null) {
+					document.reset(mark);
+				}
+			}
+
 			@Override
 			public DESEvent read(final JsonReader in) throws IOException {
 
@@ -130,8 +200,13 @@ public class DESEventTypeAdapterFactory implements TypeAdapterFactory {
 				final JsonObject event = this.getFieldAs(parent, JsonElement::isJsonObject,
 						JsonElement::getAsJsonObject, FIELD_NAME_EVENT);
 
+				if (!event.has(FIELD_NAME_ID)) {
+					// events written in canonical form have no id, c.f. DESEventSerializer#serializeEach
+					event.addProperty(FIELD_NAME_ID, UUID.randomUUID().toString());
+				}
+
 				try {
-					final var clazz = Class.forName(type.getAsString());
+					final Class<?> clazz = this.getEventClass(type.getAsString());
 
 					final TypeAdapter<DESEvent> adapter = AbstractGenericEvent.class.isAssignableFrom(clazz)
 							? createAdapterForGenericType((Class<? extends AbstractGenericEvent<?, ?>>) clazz, event)
@@ -146,6 +221,26 @@ public class DESEventTypeAdapterFactory implements TypeAdapterFactory {
 				} 
 			}
 
+			/**
+			 * Get the class of an event by its name.
+			 * 
+			 * Classes are looked up only once, c.f.
+			 * {@link SnapshotSerialisationUtils#getClassHelper(String)}, and saved for
+			 * later usage.
+			 * 
+			 * @param className name of the event's class, as written to the JSON.
+			 * @return class of the given name.
+			 * @throws ClassNotFoundException if no class with the given name exists.
+			 */
+			private Class<?> getEventClass(final String className) throws ClassNotFoundException {
+				Class<?> clazz = eventClasses.get(className);
+				if (clazz == null) {
+					clazz = SnapshotSerialisationUtils.getClassHelper(className);
+					eventClasses.putIfAbsent(className, clazz);
+				}
+				return clazz;
+			}
+
 			/**
 			 * Get delegate adapter to deserialise normal {@link DESEvent}s.
 			 * 
@@ -153,7 +248,12 @@ public class DESEventTypeAdapterFactory implements TypeAdapterFactory {
 			 * @return
 			 */
 			private TypeAdapter<DESEvent> createSimpleAdapter(final Class<?> eventClass) {
-				return this.getDelegatAdapter(TypeToken.get(eventClass));
+				TypeAdapter<DESEvent> adapter = simpleDelegators.get(eventClass);
+				if (adapter == null) {
+					adapter = this.getDelegatAdapter(TypeToken.get(eventClass));
+					simpleDelegators.put(eventClass, adapter);
+				}
+				return adapter;
 			}
 
 			/**
@@ -1,12 +1,12 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.SnapshotSerialisationUtils;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.ReferenceTable;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.SerialisationDocument;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
@@ -30,6 +30,14 @@ import com.google.gson.stream.JsonWriter;
  * entities must be updated before actually writing the entity, or else this
  * factory's adapters fail on circular references.
  * 
+ * Reference ids are integers, assigned in order of appearance and tracked by
+ * object identity, c.f. {@link ReferenceTable}. The ids are valid within one
+ * document, i.e. while a {@link SerialisationDocument} is bound to the current
+ * thread. Without a document, the ids are valid within one top-level write or
+ * read only, i.e. an entity written in one call to {@link Gson} and referenced
+ * in another call is written in full again. Bind a document to share
+ * references across calls.
+ * 
  * @author Sophie Stieß
  * 
  */
@@ -39,11 +47,11 @@ public class EntityTypeAdapterFactory implements TypeAdapterFactory {
 	public static final String FIELD_NAME_ID_FOR_REFERENCE = "refId";
 	public static final String FIELD_NAME_OBJECT = "obj";
 
-	private final Map<String, Object> done = new HashMap<>();
-	private final Map<String, TypeAdapter<?>> delegateAdapters = new HashMap<>();
+	/* used only, if no document is bound to the current thread, for one top-level write or read. */
+	private final ThreadLocal<ReferenceTable> fallbackReferences = new ThreadLocal<>();
+	private final Map<String, TypeAdapter<?>> delegateAdapters = new ConcurrentHashMap<>();
 	private final Set<TypeToken<?>> classes;
-
-	final Set<String> alreadyJsoned = new HashSet<>();
+	private final TypeDispatch dispatch;
 
 	/**
 	 * 
@@ -53,25 +61,64 @@ public class EntityTypeAdapterFactory implements TypeAdapterFactory {
 	 */
 	public EntityTypeAdapterFactory(final Set<TypeToken<?>> classes) {
 		this.classes = classes;
+		this.dispatch = TypeDispatch.of(classes);
+	}
+
+	/**
+	 * Run the given operation with the reference table of the document bound to
+	 * the current thread.
+	 * 
+	 * If there is no document, the operation runs with the table of the
+	 * enclosing top-level operation. If there is none either, the operation is
+	 * the top-level operation and runs with a new table, that is discarded
+	 * afterwards.
+	 * 
+	 * @param <V>       type of the operation's result
+	 * @param operation operation that needs a reference table.
+	 * @return result of the operation.
+	 * @throws IOException if the operation fails.
+	 */
+	private <V> V withReferences(final ReferenceOperation<V> operation) throws IOException {
+		final SerialisationDocument document = SerialisationDocument.current();
+		if (document != null) {
+			return operation.apply(document.getReferences());
+		}
+		final ReferenceTable enclosing = fallbackReferences.get();
+		if (enclosing != null) {
+			return operation.apply(enclosing);
+		}
+		final ReferenceTable references = new ReferenceTable();
+		fallbackReferences.set(references);
+		try {
+			return operation.apply(references);
+		} finally {
+			fallbackReferences.remove();
+		}
+	}
+
+	/**
+	 * Operation, that reads or writes with a reference table.
+	 */
+	@FunctionalInterface
+	private interface ReferenceOperation<V> {
+		V apply(final ReferenceTable references) throws IOException;
 	}
 
 	@Override
 	public final <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
-		for (final TypeToken<?> clazz : classes) {
-			if (clazz.getRawType().isAssignableFrom(type.getRawType())) {
-				if (delegateAdapters.isEmpty()) {
-					initDelegateAdapters(gson);
-				}
-
-				return customizeMyClassAdapter(gson, type);
+		if (dispatch.matches(type.getRawType())) {
+			if (delegateAdapters.isEmpty()) {
+				initDelegateAdapters(gson);
 			}
+
+			return customizeMyClassAdapter(gson, type);
 		}
 		return null;
 	}
 
 	private void initDelegateAdapters(final Gson gson) {
 		for (final TypeToken<?> clazz : classes) {
-			delegateAdapters.put(clazz.getRawType().getCanonicalName(), gson.getDelegateAdapter(this, clazz));
+			delegateAdapters.putIfAbsent(clazz.getRawType().getCanonicalName(), gson.getDelegateAdapter(this, clazz));
 		}
 	}
 
@@ -91,30 +138,40 @@ public class EntityTypeAdapterFactory implements TypeAdapterFactory {
 					throw new JsonParseException("this should not have happened.");
 				}
 
-				final String refId = SnapshotSerialisationUtils.getReferenceId(value);
+				withReferences(references -> {
+					final JsonPrimitive knownId = references.getReference(value);
 
-				if (alreadyJsoned.contains(refId)) {
-					elementAdapter.write(out, new JsonPrimitive(refId));
-				} else {
-					alreadyJsoned.add(refId);
-					final JsonObject obj = new JsonObject();
+					if (knownId != null) {
+						elementAdapter.write(out, knownId);
+					} else {
+						final int refId = references.register(value);
+						final JsonObject obj = new JsonObject();
 
-					obj.addProperty(FIELD_NAME_CLASS, value.getClass().getCanonicalName());
-					obj.addProperty(FIELD_NAME_ID_FOR_REFERENCE, refId);
+						obj.addProperty(FIELD_NAME_CLASS, value.getClass().getCanonicalName());
+						obj.addProperty(FIELD_NAME_ID_FOR_REFERENCE, refId);
 
-					obj.add(FIELD_NAME_OBJECT, delegate.toJsonTree(value));
+						obj.add(FIELD_NAME_OBJECT, delegate.toJsonTree(value));
 
-					elementAdapter.write(out, obj);
-				}
+						elementAdapter.write(out, obj);
+					}
+					return null;
+				});
 			}
 
 			@Override
 			public R read(final JsonReader in) throws IOException {
 				final JsonElement tree = elementAdapter.read(in);
-				if (!tree.isJsonObject() && done.containsKey(tree.getAsString())) {
-					return (R) done.get(tree.getAsString());
+				if (tree.isJsonNull()) {
+					return null;
+				}
+				return withReferences(references -> this.read(tree, references));
+			}
+
+			private R read(final JsonElement tree, final ReferenceTable references) {
+				if (!tree.isJsonObject() && references.contains(tree)) {
+					return (R) references.get(tree);
 				}
-				if (!tree.isJsonObject() && !done.containsKey(tree.getAsString())) {
+				if (!tree.isJsonObject() && !references.contains(tree)) {
 					return null;
 				}
 				final JsonObject jsonObj = tree.getAsJsonObject();
@@ -124,7 +181,7 @@ public class EntityTypeAdapterFactory implements TypeAdapterFactory {
 							String.format("No field %s in JSON %s", FIELD_NAME_ID_FOR_REFERENCE, jsonObj.toString()));
 				}
 
-				final String id = jsonObj.get(FIELD_NAME_ID_FOR_REFERENCE).getAsString();
+				final JsonElement id = jsonObj.get(FIELD_NAME_ID_FOR_REFERENCE);
 				final String tt = jsonObj.get(FIELD_NAME_CLASS).getAsString();
 
 				if (!delegateAdapters.containsKey(tt)) {
@@ -132,7 +189,7 @@ public class EntityTypeAdapterFactory implements TypeAdapterFactory {
 				}
 
 				final R element = (R) delegateAdapters.get(tt).fromJsonTree(jsonObj.get(FIELD_NAME_OBJECT));
-				done.put(id, element);
+				references.put(id, element);
 
 				return element;
 			}
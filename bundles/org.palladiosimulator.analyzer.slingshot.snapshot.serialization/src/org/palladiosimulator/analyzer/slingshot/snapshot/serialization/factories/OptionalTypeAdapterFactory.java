@@ -1,11 +1,11 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.emf.ecore.EObject;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.SnapshotSerialisationUtils;
@@ -55,7 +55,7 @@ public class OptionalTypeAdapterFactory implements TypeAdapterFactory {
 	/** must be equal to from {@link EntityTypeAdapterFactory#FIELD_NAME_CLASS}, or else objects and references cannot be handled in the same way. */ 
 	public static final String FIELD_NAME_CLASS = EntityTypeAdapterFactory.FIELD_NAME_CLASS; 
 
-	private final Map<String, TypeAdapter<?>> optionalValuesDelegators = new HashMap<>();
+	private final Map<String, TypeAdapter<?>> optionalValuesDelegators = new ConcurrentHashMap<>();
 	
 	private final Set<TypeToken<?>> innerTypes; 
 
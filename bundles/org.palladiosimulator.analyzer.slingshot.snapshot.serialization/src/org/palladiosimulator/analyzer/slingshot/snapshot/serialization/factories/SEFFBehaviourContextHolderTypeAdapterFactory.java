@@ -2,9 +2,9 @@ package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factorie
 
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.SeffBehaviorContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.SeffBehaviorWrapper;
@@ -36,7 +36,7 @@ public class SEFFBehaviourContextHolderTypeAdapterFactory implements TypeAdapter
 	 * Save all adapters already created with this factory, because i dont see, why
 	 * we should create a new adapter every time.
 	 */
-	private final Map<TypeToken<SeffBehaviorContextHolder>, TypeAdapter<SeffBehaviorContextHolder>> thisAdapter = new HashMap<>();
+	private final Map<TypeToken<SeffBehaviorContextHolder>, TypeAdapter<SeffBehaviorContextHolder>> thisAdapter = new ConcurrentHashMap<>();
 
 	@Override
 	public final <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
@@ -0,0 +1,66 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Dispatch table, that decides whether a class is assignable to any type of a
+ * given set of types.
+ *
+ * Used by the {@link TypeAdapterFactory}s to decide whether they are
+ * responsible for a type. Instead of scanning the entire set of types on each
+ * request, the result for a class is computed once, by exact match or, if
+ * there is none, by scanning the set for a supertype. The result is cached,
+ * including negative results.
+ *
+ * Dispatch tables are immutable and thread-safe, thus there is only one table
+ * per set of types, shared among all factories and {@link com.google.gson.Gson}
+ * instances, c.f. {@link TypeDispatch#of(Set)}. The table is keyed by an
+ * immutable copy of the set, thus changing the given set afterwards affects
+ * neither the table nor the tables of other sets.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class TypeDispatch {
+
+	private static final Map<Set<TypeToken<?>>, TypeDispatch> SHARED = new ConcurrentHashMap<>();
+
+	private final Set<Class<?>> types;
+
+	private final ClassValue<Boolean> matches = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return types.contains(type) || types.stream().anyMatch(t -> t.isAssignableFrom(type));
+		}
+	};
+
+	private TypeDispatch(final Set<TypeToken<?>> tokens) {
+		this.types = tokens.stream().map(TypeToken::getRawType).collect(Collectors.toUnmodifiableSet());
+	}
+
+	/**
+	 * Get the dispatch table for the given set of types.
+	 *
+	 * @param tokens set of types, must not be null.
+	 * @return dispatch table for the given types.
+	 */
+	public static TypeDispatch of(final Set<TypeToken<?>> tokens) {
+		return SHARED.computeIfAbsent(Set.copyOf(tokens), TypeDispatch::new);
+	}
+
+	/**
+	 * Check whether the given class is assignable to any type of the set.
+	 *
+	 * @param type class to check.
+	 * @return true, iff the given class is assignable to any type of the set.
+	 */
+	public boolean matches(final Class<?> type) {
+		return matches.get(type);
+	}
+}
@@ -1,8 +1,16 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ProcessorSharingJobProgressed;
@@ -23,17 +31,41 @@ import org.palladiosimulator.analyzer.slingshot.monitor.data.events.ProcessingTy
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.modelvisited.MeasurementSpecificationVisited;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.modelvisited.MonitorModelVisited;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.modelvisited.ProcessingTypeVisited;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.CheckpointInitiated;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.CheckpointTaken;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotFinished;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.InitialEventsDue;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotInitiated;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotTaken;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.EObjectTypeAdapter;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories.DESEventTypeAdapterFactory;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories.EntityTypeAdapterFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /** 
  * Serializer for (de)serializing {@link DESEvent} from and to JSON.
  * 
+ * Each call (de)serializes one document, i.e. references to model elements are
+ * written as URI only once per call, c.f. {@link EObjectTypeAdapter}, and
+ * reference ids of entities are only valid within the call, c.f.
+ * {@link EntityTypeAdapterFactory}. Thus,
+ * events must be deserialized the same way they were serialized, i.e. with a
+ * single call, and not piecewise. Events serialized one by one, c.f.
+ * {@link DESEventSerializer#serializeEach(Set, Function)}, must be deserialized
+ * one by one as well, c.f. {@link DESEventSerializer#deserializeEach(Iterator, JsonSource)}.
+ * 
+ * All serializers of the same {@link ResourceSet} share one {@link Gson}
+ * instance, c.f. {@link SnapshotSerialisationUtils#getGsonForSlingshot(ResourceSet)},
+ * while the state of each call is kept in its own {@link SerialisationDocument}.
+ * Thus, serializers are cheap to create and may be used from multiple threads.
+ * 
  * @author Sophie Stieß
  *
  */
@@ -42,7 +74,7 @@ public class DESEventSerializer {
 	private final Gson gson;
 
 	public DESEventSerializer(final ResourceSet set) {
-		gson = SnapshotSerialisationUtils.createGsonForSlingshot(set);
+		gson = SnapshotSerialisationUtils.getGsonForSlingshot(set);
 	}
 
 	/**
@@ -52,8 +84,10 @@ public class DESEventSerializer {
 	 * @return JSON of the events as string.
 	 */
 	public String serialize(final Set<DESEvent> events) {
-		final String eventJsonString = gson.toJson(this.cleanseEventSet(events));
-		return eventJsonString;
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			final String eventJsonString = gson.toJson(this.cleanseEventSet(events));
+			return eventJsonString;
+		}
 	}
 	
 	/**
@@ -63,8 +97,29 @@ public class DESEventSerializer {
 	 * @return JSON of the events.
 	 */
 	public JsonElement serializeToJson(final Set<DESEvent> events) {
-		final JsonElement eventJsonString = gson.toJsonTree(this.cleanseEventSet(events));
-		return eventJsonString;
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			final JsonElement eventJsonString = gson.toJsonTree(this.cleanseEventSet(events));
+			return eventJsonString;
+		}
+	}
+
+	/**
+	 * Serialize given events directly to the given writer.
+	 * 
+	 * Neither the JSON string nor the JSON tree of the entire event set are
+	 * materialised, thus memory consumption does not grow with the number of
+	 * events, beyond the events themselves.
+	 * 
+	 * @param events events to be serialized
+	 * @param writer writer to write the JSON array of events to.
+	 * @throws IOException if writing to the given writer fails.
+	 */
+	public void serialize(final Set<DESEvent> events, final JsonWriter writer) throws IOException {
+		final Set<DESEvent> cleansed = this.cleanseEventSet(events);
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			gson.getAdapter(new TypeToken<Set<DESEvent>>() {
+			}).write(writer, cleansed);
+		}
 	}
 
 	/**
@@ -76,7 +131,9 @@ public class DESEventSerializer {
 	public Set<DESEvent> deserialize(final String string) {
 		final Type set2Type = new TypeToken<Set<DESEvent>>() {
 		}.getType();
-		return gson.fromJson(string, set2Type);
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			return gson.fromJson(string, set2Type);
+		}
 	}
 	
 	/**
@@ -88,7 +145,177 @@ public class DESEventSerializer {
 	public Set<DESEvent> deserializeFromJson(final JsonElement element) {
 		final Type type = new TypeToken<Set<DESEvent>>() {
 		}.getType();
-		return gson.fromJson(element, type);
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			return gson.fromJson(element, type);
+		}
+	}
+
+	/**
+	 * Deserialize events one by one from the given reader.
+	 * 
+	 * The reader must be positioned at the beginning of a JSON array of events.
+	 * Each call to {@link Iterator#next()} parses exactly one event, thus events
+	 * can be processed while the remainder of the array is not yet parsed. Once
+	 * the iterator is exhausted, the reader is positioned right after the array.
+	 * 
+	 * The iterator does not close the reader. All events of the array belong to
+	 * the same {@link SerialisationDocument}, that is bound to the current thread
+	 * only while an event is parsed. Thus, the iterator may be consumed by a
+	 * different thread than the one that created it, and this serializer may be
+	 * used for other calls in the meantime.
+	 * 
+	 * @param reader reader positioned at a JSON array of events.
+	 * @return iterator over the events of the array, in order of appearance.
+	 * @throws IOException if the array cannot be opened.
+	 */
+	public Iterator<DESEvent> deserialize(final JsonReader reader) throws IOException {
+		final TypeAdapter<DESEvent> adapter = gson.getAdapter(DESEvent.class);
+		final SerialisationDocument document = new SerialisationDocument();
+		reader.beginArray();
+
+		return new Iterator<DESEvent>() {
+			private boolean done = false;
+
+			@Override
+			public boolean hasNext() {
+				if (done) {
+					return false;
+				}
+				try {
+					if (reader.hasNext()) {
+						return true;
+					}
+					reader.endArray();
+					done = true;
+					return false;
+				} catch (final IOException e) {
+					throw new JsonIOException(e);
+				}
+			}
+
+			@Override
+			public DESEvent next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException("No more events in array.");
+				}
+				try (final SerialisationDocument.Scope scope = document.enter()) {
+					return adapter.read(reader);
+				} catch (final IOException e) {
+					throw new JsonIOException(e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Serialize the given events one by one, each in canonical form.
+	 * 
+	 * Each event is a segment of its own, c.f.
+	 * {@link SerialisationDocument#seal(String)}, named by the given sink. The
+	 * canonical form of an event omits the event's per-run id, writes the URI of
+	 * each model element it references, and numbers its entities starting at 0.
+	 * Entities already written with a preceding event are referenced by the name
+	 * of that event's segment. Thus, the JSON of an event does not depend on the
+	 * events written before it, except for the names of the events it shares
+	 * entities with, and the same event yields the same JSON in every snapshot.
+	 * 
+	 * Skipped events are not passed to the sink.
+	 * 
+	 * @param events events to be serialized.
+	 * @param sink   stores the JSON of one event and returns the name of the
+	 *               stored JSON, e.g. the hash of its content.
+	 * @return names of the events, in order of serialisation.
+	 */
+	public List<String> serializeEach(final Set<DESEvent> events, final Function<JsonElement, String> sink) {
+		final SerialisationDocument document = new SerialisationDocument();
+		final Map<String, Integer> occurrences = new HashMap<>();
+		final List<String> names = new ArrayList<>();
+
+		for (final DESEvent event : this.cleanseEventSet(events)) {
+			final JsonElement json;
+			try (final SerialisationDocument.Scope scope = document.enter()) {
+				json = gson.toJsonTree(event);
+			}
+			if (json.isJsonNull()) {
+				continue; // skipped, c.f. DESEventTypeAdapterFactory
+			}
+			json.getAsJsonObject().getAsJsonObject(DESEventTypeAdapterFactory.FIELD_NAME_EVENT)
+					.remove(DESEventTypeAdapterFactory.FIELD_NAME_ID);
+
+			final String name = sink.apply(json);
+			document.seal(segmentOf(name, occurrences));
+			names.add(name);
+		}
+		return names;
+	}
+
+	/**
+	 * Deserialize events, that were serialized one by one, c.f.
+	 * {@link DESEventSerializer#serializeEach(Set, Function)}.
+	 * 
+	 * Each call to {@link Iterator#next()} opens, parses and closes the JSON of
+	 * exactly one event. The events must be read in order of serialisation, with
+	 * the names the sink returned on serialisation. Each event gets a new random
+	 * id, as the canonical form omits the ids.
+	 * 
+	 * Like {@link DESEventSerializer#deserialize(JsonReader)}, the document is
+	 * bound to the current thread only while an event is parsed.
+	 * 
+	 * @param names  names of the events, in order of serialisation.
+	 * @param source opens a reader on the JSON with the given name.
+	 * @return iterator over the events, in order of serialisation.
+	 */
+	public Iterator<DESEvent> deserializeEach(final Iterator<String> names, final JsonSource source) {
+		final TypeAdapter<DESEvent> adapter = gson.getAdapter(DESEvent.class);
+		final SerialisationDocument document = new SerialisationDocument();
+		final Map<String, Integer> occurrences = new HashMap<>();
+
+		return new Iterator<DESEvent>() {
+			@Override
+			public boolean hasNext() {
+				return names.hasNext();
+			}
+
+			@Override
+			public DESEvent next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException("No more events.");
+				}
+				final String name = names.next();
+				try (final JsonReader reader = source.open(name);
+						final SerialisationDocument.Scope scope = document.enter()) {
+					final DESEvent event = adapter.read(reader);
+					document.seal(segmentOf(name, occurrences));
+					return event;
+				} catch (final IOException e) {
+					throw new JsonIOException(e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Get the name of the segment for the JSON with the given name.
+	 * 
+	 * Identical events yield the same JSON, thus the same name. Their segments
+	 * still need distinct names, or else their entities would be merged on
+	 * deserialisation.
+	 * 
+	 * @param name        name of the JSON of an event.
+	 * @param occurrences number of segments per name so far, updated by this call.
+	 * @return name of the segment.
+	 */
+	private static String segmentOf(final String name, final Map<String, Integer> occurrences) {
+		final int occurrence = occurrences.merge(name, 1, Integer::sum) - 1;
+		return occurrence == 0 ? name : name + "#" + occurrence;
+	}
+
+	/**
+	 * Opens a reader on the JSON with a given name.
+	 */
+	@FunctionalInterface
+	public interface JsonSource {
+		JsonReader open(final String name) throws IOException;
 	}
 
 	/**
@@ -96,13 +323,14 @@ public class DESEventSerializer {
 	 * others.
 	 * 
 	 * @param events all events.
-	 * @return set of events that ought to be serialized.
+	 * @return set of events that ought to be serialized, in the order of the given events.
 	 */
 	private Set<DESEvent> cleanseEventSet(final Set<DESEvent> events) {
-		final Set<DESEvent> cleansed = new HashSet<>();
+		final Set<DESEvent> cleansed = new LinkedHashSet<>();
 		final Set<Class<?>> skip = Set.of(SnapshotInitiated.class, SnapshotTaken.class, SnapshotFinished.class,
 				ProbeTaken.class, SimulationFinished.class, MeasurementMade.class, MeasurementUpdated.class,
-				TakeCostMeasurement.class, IntervalPassed.class, ProcessorSharingJobProgressed.class);
+				TakeCostMeasurement.class, IntervalPassed.class, ProcessorSharingJobProgressed.class,
+				InitialEventsDue.class, CheckpointInitiated.class, CheckpointTaken.class);
 
 		final Set<Class<?>> error = Set.of(PreSimulationConfigurationStarted.class, SimulationStarted.class,
 				MonitorModelVisited.class, ProcessingTypeRevealed.class, CalculatorRegistered.class,
@@ -0,0 +1,183 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Table of the reference ids of the objects of one document.
+ *
+ * On serialisation, each object gets an integer id, in order of appearance.
+ * Objects are identified by identity, not by equality, thus distinct objects
+ * never share an id, even if they are equal or have the same hash code.
+ *
+ * On deserialisation, the table maps the ids as read from the document to the
+ * deserialised objects. Ids are accepted both as numbers and as strings, such
+ * that documents written with the former, hash code based ids remain
+ * readable.
+ *
+ * A document may consist of multiple segments, c.f.
+ * {@link ReferenceTable#seal(String)}. Integer ids are local to the current
+ * segment, while objects of preceding segments are referenced by the name of
+ * their segment and their id within it, e.g. {@code "<segment>:3"}. Thus, the
+ * JSON of a segment does not depend on what other segments precede it, as long
+ * as it references the same objects of the same segments.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class ReferenceTable {
+
+	private static final String SEGMENT_SEPARATOR = ":";
+
+	private final Map<Object, Integer> written = new IdentityHashMap<>();
+	private final Map<Object, String> sealedWritten = new IdentityHashMap<>();
+	private final Map<Object, Object> read = new HashMap<>();
+
+	/**
+	 * Get the id of the given object, if it was already written.
+	 *
+	 * @param value object to get the id for.
+	 * @return id of the object, or null if the object was not yet written.
+	 */
+	public Integer getId(final Object value) {
+		return written.get(value);
+	}
+
+	/**
+	 * Get the reference to the given object, if it was already written.
+	 *
+	 * @param value object to get the reference for.
+	 * @return id of the object, if it was written in the current segment, name of
+	 *         its segment and id, if it was written in a preceding segment, or null
+	 *         if the object was not yet written.
+	 */
+	public JsonPrimitive getReference(final Object value) {
+		final Integer id = written.get(value);
+		if (id != null) {
+			return new JsonPrimitive(id);
+		}
+		final String sealed = sealedWritten.get(value);
+		return sealed == null ? null : new JsonPrimitive(sealed);
+	}
+
+	/**
+	 * Assign a new id to the given object.
+	 *
+	 * Must be called before the object is actually written, or else circular
+	 * references cannot be handled.
+	 *
+	 * @param value object to assign an id to, must not yet have an id.
+	 * @return new id of the object.
+	 */
+	public int register(final Object value) {
+		final int id = written.size();
+		if (written.putIfAbsent(value, id) != null) {
+			throw new IllegalStateException(String.format("Object %s already has an id.", value.toString()));
+		}
+		return id;
+	}
+
+	/**
+	 * @return number of objects, that were assigned an id.
+	 */
+	public int size() {
+		return written.size();
+	}
+
+	/**
+	 * Forget the ids of all objects, that were assigned an id after the table had
+	 * the given size. Thus, the next object gets the id {@code size} again.
+	 *
+	 * @param size number of objects, whose ids are kept.
+	 */
+	public void truncate(final int size) {
+		written.values().removeIf(id -> id >= size);
+	}
+
+	/**
+	 * Remember the object, that was read for the given id.
+	 *
+	 * @param id    id as read from the document.
+	 * @param value object read for the id.
+	 */
+	public void put(final JsonElement id, final Object value) {
+		read.put(toKey(id), value);
+	}
+
+	/**
+	 * Check whether an object was already read for the given id.
+	 *
+	 * @param id id as read from the document.
+	 * @return true, iff an object was read for the id.
+	 */
+	public boolean contains(final JsonElement id) {
+		return read.containsKey(toKey(id));
+	}
+
+	/**
+	 * Get the object, that was read for the given id.
+	 *
+	 * @param id id as read from the document.
+	 * @return object read for the id, or null if there is none.
+	 */
+	public Object get(final JsonElement id) {
+		return read.get(toKey(id));
+	}
+
+	/**
+	 * End the current segment and start a new one.
+	 *
+	 * All objects written or read in the current segment keep their ids, but
+	 * are referenced by the given name of the segment and their id from now on.
+	 * Integer ids start at 0 again.
+	 *
+	 * Writing and reading must seal the same segments with the same names.
+	 *
+	 * @param segment name of the current segment, e.g. the hash of its content.
+	 */
+	public void seal(final String segment) {
+		written.forEach((value, id) -> sealedWritten.put(value, segment + SEGMENT_SEPARATOR + id));
+		written.clear();
+
+		final Map<Object, Object> sealedRead = new HashMap<>();
+		final Iterator<Map.Entry<Object, Object>> entries = read.entrySet().iterator();
+		while (entries.hasNext()) {
+			final Map.Entry<Object, Object> entry = entries.next();
+			if (entry.getKey() instanceof Long) {
+				sealedRead.put(segment + SEGMENT_SEPARATOR + entry.getKey(), entry.getValue());
+				entries.remove();
+			}
+		}
+		read.putAll(sealedRead);
+	}
+
+	/**
+	 * Forget all ids, i.e. start a new document.
+	 */
+	public void clear() {
+		written.clear();
+		sealedWritten.clear();
+		read.clear();
+	}
+
+	/**
+	 * Convert an id as read from the document to a key for the table of read
+	 * objects.
+	 *
+	 * Numeric ids become {@link Long}s, everything else is kept as string.
+	 */
+	private static Object toKey(final JsonElement id) {
+		if (id.isJsonPrimitive()) {
+			final JsonPrimitive primitive = id.getAsJsonPrimitive();
+			if (primitive.isNumber()) {
+				return primitive.getAsLong();
+			}
+		}
+		return id.getAsString();
+	}
+}
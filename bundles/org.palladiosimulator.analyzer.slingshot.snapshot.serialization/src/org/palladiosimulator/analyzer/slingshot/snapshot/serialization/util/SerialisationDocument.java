@@ -0,0 +1,159 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.EObjectTypeAdapter;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories.EntityTypeAdapterFactory;
+
+/**
+ * State of the (de)serialisation of one document.
+ *
+ * The adapters and factories of a {@link com.google.gson.Gson} instance are
+ * stateless and shared among all documents and threads. Everything that is
+ * only valid within one document, i.e. the reference ids of entities and the
+ * dictionary of model elements, lives in the document instead.
+ *
+ * A document is bound to the current thread with
+ * {@link SerialisationDocument#enter()}. While bound, the adapters use the
+ * document's state. Without a bound document, the adapters fall back to their
+ * behaviour without documents, c.f. {@link EObjectTypeAdapter} and
+ * {@link EntityTypeAdapterFactory}.
+ *
+ * A document must not be bound to multiple threads at the same time.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public final class SerialisationDocument {
+
+	private static final ThreadLocal<SerialisationDocument> CURRENT = new ThreadLocal<>();
+
+	private final ReferenceTable references = new ReferenceTable();
+
+	private final Map<EObject, Integer> writtenModelElements = new IdentityHashMap<>();
+	private final List<EObject> readModelElements = new ArrayList<>();
+	private final Map<String, EObject> resolvedModelElements = new HashMap<>();
+
+	/**
+	 * Get the document bound to the current thread.
+	 *
+	 * @return document bound to the current thread, or null if there is none.
+	 */
+	public static SerialisationDocument current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Bind this document to the current thread, until the returned scope is
+	 * closed.
+	 *
+	 * Scopes may be nested. Closing a scope restores the document, that was bound
+	 * before the scope was entered.
+	 *
+	 * @return scope to be closed, once the document shall no longer be bound.
+	 */
+	public Scope enter() {
+		final SerialisationDocument previous = CURRENT.get();
+		CURRENT.set(this);
+		return () -> {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		};
+	}
+
+	/**
+	 * @return reference ids of the entities of this document.
+	 */
+	public ReferenceTable getReferences() {
+		return references;
+	}
+
+	/**
+	 * @return indices of the model elements already written to this document.
+	 */
+	public Map<EObject, Integer> getWrittenModelElements() {
+		return writtenModelElements;
+	}
+
+	/**
+	 * @return model elements already read from this document, in order of
+	 *         appearance.
+	 */
+	public List<EObject> getReadModelElements() {
+		return readModelElements;
+	}
+
+	/**
+	 * @return model elements already resolved while reading this document, by
+	 *         their string representation.
+	 */
+	public Map<String, EObject> getResolvedModelElements() {
+		return resolvedModelElements;
+	}
+
+	/**
+	 * Mark the current state of this document for writing, c.f.
+	 * {@link SerialisationDocument#reset(Mark)}.
+	 *
+	 * @return mark of the current state.
+	 */
+	public Mark mark() {
+		return new Mark(writtenModelElements.size(), references.size());
+	}
+
+	/**
+	 * Forget all model elements and entities, that were registered for writing
+	 * since the given mark.
+	 *
+	 * Must be called, if a value is dropped after it was partially serialised,
+	 * e.g. a skipped event. Otherwise, later references to the model elements and
+	 * entities of the dropped value would be written as indices and ids, that are
+	 * never defined in the document.
+	 *
+	 * @param mark mark to reset this document to.
+	 */
+	public void reset(final Mark mark) {
+		writtenModelElements.values().removeIf(index -> index >= mark.modelElements());
+		references.truncate(mark.entities());
+	}
+
+	/**
+	 * End the current segment of this document and start a new one, c.f.
+	 * {@link ReferenceTable#seal(String)}.
+	 *
+	 * Entities of the current segment remain referenceable by the name of the
+	 * segment, while the dictionary of model elements starts empty. Thus, the
+	 * next segment writes the URI of each model element it references again,
+	 * and its JSON does not depend on the preceding segments.
+	 *
+	 * @param segment name of the current segment, e.g. the hash of its content.
+	 */
+	public void seal(final String segment) {
+		references.seal(segment);
+		writtenModelElements.clear();
+		readModelElements.clear();
+	}
+
+	/**
+	 * State of a document for writing, as number of written model elements and
+	 * entities.
+	 */
+	public record Mark(int modelElements, int entities) {
+	}
+
+	/**
+	 * Scope of a document bound to the current thread.
+	 */
+	public interface Scope extends AutoCloseable {
+		@Override
+		void close();
+	}
+}
@@ -23,6 +23,7 @@ import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.int
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.interpretationcontext.UserInterpretationContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.scenariobehavior.RootScenarioContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.scenariobehavior.UsageScenarioBehaviorContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.ClosedWorkloadUserInitiated;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.InterArrivalUserInitiated;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UsageModelPassedElement;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
@@ -87,6 +88,12 @@ protected final static Set<TypeToken<?>> typeSetDESEvents = Set.of(TypeToken.get
 		TypeToken.getParameterized(SEFFModelPassedElement.class, StartAction.class),
 		TypeToken.get(InterArrivalUserInitiated.class));
 
+/**
+ * Set of all events, whose remaining delay is carried in their time, c.f.
+ * {@code Camera#reduceThinktime}.
+ */
+protected final static Set<Class<?>> typeSetDelayFromTime = Set.of(ClosedWorkloadUserInitiated.class);
+
 	
 
 //private final static Map<String, Class<? extends DESEvent>> eventTypeMap = Map.of(
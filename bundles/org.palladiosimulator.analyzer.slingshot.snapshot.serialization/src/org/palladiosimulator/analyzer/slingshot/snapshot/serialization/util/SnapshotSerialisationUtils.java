@@ -1,10 +1,18 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.ClassTypeAdapter;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.EObjectTypeAdapter;
@@ -22,48 +30,137 @@ import com.google.gson.GsonBuilder;
 
 public final class SnapshotSerialisationUtils {
 
-	private final static Map<String, Class<?>> knownClasses = new HashMap<>();
+	private static final Logger LOGGER = Logger.getLogger(SnapshotSerialisationUtils.class);
+
+	/**
+	 * Classes by name, including names, that do not denote any class. Classes are
+	 * saved with {@link Optional#empty()}, if the lookup failed, such that
+	 * unknown names do not hit the class loaders again.
+	 */
+	private final static Map<String, Optional<Class<?>>> knownClasses = new ConcurrentHashMap<>();
+
+	static {
+		Stream.of(SlingshotTypeTokenSets.typeSetEntities, SlingshotTypeTokenSets.typeSetOptionals,
+				SlingshotTypeTokenSets.typeSetDESEvents).flatMap(Set::stream)
+				.forEach(token -> registerKnownClass(token.getRawType()));
+	}
 
 	/**
 	 * Helper for getting classes by their name.
 	 * 
 	 * Getting a class by name is probably expensive, thus we save all known classes
-	 * for later usage.
+	 * for later usage. The lookup is done only once per name, even if it fails or
+	 * if multiple threads request the same name at the same time.
+	 * 
+	 * Classes are looked up with the class loader of this bundle first, which sees
+	 * all bundles required by this bundle, and with the thread's context class
+	 * loader second. Both binary names, e.g. {@code Outer$Inner}, and canonical
+	 * names, e.g. {@code Outer.Inner}, are accepted.
 	 * 
 	 * @param className name of the class as string.
 	 * @return a {@link Class} object matching the given string.
-	 * @throws ClassNotFoundException
+	 * @throws ClassNotFoundException if no class with the given name exists.
 	 */
 	public static Class<?> getClassHelper(final String className) throws ClassNotFoundException {
-		if (!knownClasses.containsKey(className)) {
-			final Class<?> clazz = Class.forName(className);
-			knownClasses.put(className, clazz);
+		final Optional<Class<?>> clazz = knownClasses.computeIfAbsent(className,
+				SnapshotSerialisationUtils::lookupClass);
+		return clazz.orElseThrow(() -> new ClassNotFoundException(className));
+	}
+
+	/**
+	 * Save the given class for later usage, by its canonical and its binary name.
+	 * 
+	 * @param clazz class to be saved.
+	 */
+	public static void registerKnownClass(final Class<?> clazz) {
+		knownClasses.put(clazz.getName(), Optional.of(clazz));
+		if (clazz.getCanonicalName() != null) {
+			knownClasses.put(clazz.getCanonicalName(), Optional.of(clazz));
 		}
-		return knownClasses.get(className);
 	}
-	
+
 	/**
-	 * Helper for creating the reference if for an object.
+	 * Look up the class of the given name with the class loaders of this bundle
+	 * and the current thread.
 	 * 
-	 * Different adapters must create and use those reference ids, thus we have one
-	 * central operation for creating them, such that the ids are always constructed
-	 * the same way.
+	 * If the name does not denote a class, it is tried as canonical name of a
+	 * nested class, by replacing the dots from right to left with '$'.
 	 * 
-	 * The id is a combination of object and class hash, because an initial attempt
-	 * with object hash only resulted in duplicated ids among objects of different
-	 * types.
+	 * @param className binary or canonical name of the class.
+	 * @return the class, or empty, if no class loader knows the name.
+	 */
+	private static Optional<Class<?>> lookupClass(final String className) {
+		final List<ClassLoader> loaders = new ArrayList<>(2);
+		loaders.add(SnapshotSerialisationUtils.class.getClassLoader());
+		final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+		if (contextLoader != null && contextLoader != loaders.get(0)) {
+			loaders.add(contextLoader);
+		}
+
+		String candidate = className;
+		while (true) {
+			for (final ClassLoader loader : loaders) {
+				try {
+					return Optional.of(Class.forName(candidate, false, loader));
+				} catch (final ClassNotFoundException | LinkageError e) {
+					// try next class loader.
+				}
+			}
+			final int lastDot = candidate.lastIndexOf('.');
+			if (lastDot < 0) {
+				LOGGER.debug(String.format("No class with name %s found.", className));
+				return Optional.empty();
+			}
+			candidate = candidate.substring(0, lastDot) + '$' + candidate.substring(lastDot + 1);
+		}
+	}
+	
+	/**
+	 * Get the shared {@link Gson} object for de/serialising {@link DESEvent}s with
+	 * the given resource set.
 	 * 
-	 * @param <R>
-	 * @param value object to create a reference id for.
-	 * @return reference id for the given value
+	 * The object is created on the first request for a resource set, attached to
+	 * the set, and reused for all further requests. This is possible, because neither the adapters nor
+	 * the factories hold the state of a (de)serialisation, which is kept in a
+	 * {@link SerialisationDocument} instead. Thus, the object may also be used
+	 * from multiple threads.
+	 * 
+	 * @param set resource set for de/serialising {@link EObject}s.
+	 * @return shared {@link Gson} object for de/serialising {@link DESEvent}s.
 	 */
-	public static <R> String getReferenceId(final R value) {
-		return String.valueOf(value.hashCode())+"$"+value.getClass().hashCode();
+	public static Gson getGsonForSlingshot(final ResourceSet set) {
+		synchronized (set) {
+			SharedGson shared = (SharedGson) EcoreUtil.getExistingAdapter(set, SharedGson.class);
+			if (shared == null) {
+				shared = new SharedGson(createGsonForSlingshot(set));
+				set.eAdapters().add(shared);
+			}
+			return shared.gson;
+		}
+	}
+
+	/**
+	 * EMF adapter to attach a shared {@link Gson} object to a resource set, such
+	 * that it lives exactly as long as the set.
+	 */
+	private static final class SharedGson extends AdapterImpl {
+		private final Gson gson;
+
+		private SharedGson(final Gson gson) {
+			this.gson = gson;
+		}
+
+		@Override
+		public boolean isAdapterForType(final Object type) {
+			return type == SharedGson.class;
+		}
 	}
 
 	/**
 	 * Creates a {@link Gson} object for de/serialising a {@link DESEvent}s.
 	 * 
+	 * Prefer {@link SnapshotSerialisationUtils#getGsonForSlingshot(ResourceSet)},
+	 * as creating the object and its adapters is expensive.
 	 * 
 	 * @param set resource set for de/serialising {@link EObject}s.
 	 * @return {@link Gson} object for de/serialising a {@link DESEvent}s.
@@ -87,7 +184,8 @@ public final class SnapshotSerialisationUtils {
 		adaptereBuilder.registerTypeAdapterFactory(new OptionalTypeAdapterFactory(SlingshotTypeTokenSets.typeSetOptionals));
 		adaptereBuilder.registerTypeAdapterFactory(new ElistTypeAdapterFactory());
 		
-		adaptereBuilder.registerTypeAdapterFactory(new DESEventTypeAdapterFactory(SlingshotTypeTokenSets.typeSetDESEvents));
+		adaptereBuilder.registerTypeAdapterFactory(new DESEventTypeAdapterFactory(SlingshotTypeTokenSets.typeSetDESEvents,
+				SlingshotTypeTokenSets.typeSetDelayFromTime));
 
 		return adaptereBuilder.create();
 	}
@@ -1,11 +1,9 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -13,6 +11,7 @@ import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmentRequested;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorState;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SPDAdjustorStateRegistered;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.InterArrivalUserInitiated;
 import org.palladiosimulator.analyzer.slingshot.common.annotations.Nullable;
 import org.palladiosimulator.analyzer.slingshot.common.events.AbstractEntityChangedEvent;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
@@ -30,7 +29,10 @@ import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.interceptors.
 import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.InterceptionResult;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers.InitWrapper;
+import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotBehaviourConfigurationParameters;
 import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotConfiguration;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.CheckpointInitiated;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.InitialEventsDue;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotInitiated;
 
 /**
@@ -53,6 +55,9 @@ import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotInitiate
  * simulation run (unless it ends earlier for other reasons.)
  * <li>offset all {@link ModelPassedEvent}s that are leftover from the previous
  * state into the past.
+ * <li>defer {@link InterArrivalUserInitiated} events from the snapshot, that are
+ * far in the future, until the simulation time approaches them. Only if
+ * enabled with {@link SnapshotInitFromBehaviour#EVENT_BUCKET_WIDTH}.
  *
  * @author Sophie Stieß
  *
@@ -60,11 +65,22 @@ import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotInitiate
 @OnEvent(when = SPDAdjustorStateRegistered.class, then = {})
 @OnEvent(when = SimulationStarted.class, then = { AbstractEntityChangedEvent.class }, cardinality = EventCardinality.MANY)
 @OnEvent(when = PreSimulationConfigurationStarted.class, then = SnapshotInitiated.class, cardinality = EventCardinality.SINGLE)
+@OnEvent(when = InitialEventsDue.class, then = {})
 
 public class SnapshotInitFromBehaviour implements SimulationBehaviorExtension {
 
 	private static final Logger LOGGER = Logger.getLogger(SnapshotInitFromBehaviour.class);
 
+	/**
+	 * Name of the parameter for the width of the time buckets, in which deferred
+	 * events are materialised. A width of 0 or less materialises all events at the
+	 * beginning of the simulation run. Defaults to 0, i.e. no events are deferred.
+	 * 
+	 * Deferring events keeps the snapshot file open until all its events are
+	 * materialised.
+	 */
+	public static final String EVENT_BUCKET_WIDTH = "eventBucketWidth";
+
 	private final SnapshotConfiguration snapshotConfig;
 
 	/* for displacing modelpassed events to the past */
@@ -76,6 +92,11 @@ public class SnapshotInitFromBehaviour implements SimulationBehaviorExtension {
 
 	private final SimulationScheduling scheduling;
 
+	private final double bucketWidth;
+
+	/* next event from the snapshot, pulled from the wrapper but not yet due */
+	private DESEvent deferredEvent = null;
+
 	@Inject
 	public SnapshotInitFromBehaviour(final @Nullable SnapshotConfiguration snapshotConfig,
 			final @Nullable InitWrapper eventsWrapper, final SimulationScheduling scheduling) {
@@ -84,6 +105,7 @@ public class SnapshotInitFromBehaviour implements SimulationBehaviorExtension {
 		this.scheduling = scheduling;
 
 		this.offsetMap = new HashMap<>();
+		this.bucketWidth = getBucketWidth(snapshotConfig);
 	}
 
 	@Override
@@ -112,6 +134,11 @@ public class SnapshotInitFromBehaviour implements SimulationBehaviorExtension {
 	 *
 	 * Schedules the snapshotted events from earlier simulation run directly to the
 	 * engine to preserve order.
+	 * 
+	 * The snapshotted events are scheduled one by one, as they are pulled from the
+	 * wrapper, i.e. possibly while the remainder of the snapshot is still being
+	 * parsed. Pulling stops at the first event, that is not yet due, c.f.
+	 * {@link SnapshotInitFromBehaviour#scheduleDue(double)}.
 	 *
 	 * @param simulationStarted
 	 */
@@ -120,10 +147,149 @@ public class SnapshotInitFromBehaviour implements SimulationBehaviorExtension {
 		// schedule one event after the other directly to the engine to preserver order.
 		wrapper.getAdjustmentEvents().forEach(e -> scheduling.scheduleEvent(e));
 
-		final Set<DESEvent> eventsToInitOn = this.removeTakeCostMeasurement(this.wrapper.getOtherEvents());
-		this.initOffsetMap(eventsToInitOn);
+		this.scheduleDue(simulationStarted.time());
+	}
 
-		eventsToInitOn.forEach(e -> scheduling.scheduleEvent(e));
+	/**
+	 * Schedule the next bucket of deferred events from the snapshot.
+	 *
+	 * @param event
+	 */
+	@Subscribe
+	public void onInitialEventsDue(final InitialEventsDue event) {
+		this.scheduleDue(event.time());
+	}
+
+	/**
+	 * Schedule all remaining events from the snapshot, because the next snapshot
+	 * must include them.
+	 * 
+	 * Intercepts the {@link SnapshotInitiated} event before it is delivered to any
+	 * subscriber, such that the remaining events are in the future event list
+	 * before the snapshot is taken.
+	 *
+	 * @param information interception information
+	 * @param event       intercepted event
+	 * @return always success
+	 */
+	@PreIntercept
+	public InterceptionResult preInterceptSnapshotInitiated(final InterceptorInformation information,
+			final SnapshotInitiated event) {
+		this.scheduleAll(event.time());
+		return InterceptionResult.success();
+	}
+
+	/**
+	 * Schedule all remaining events from the snapshot, because the checkpoint
+	 * must include them.
+	 * 
+	 * Intercepts the {@link CheckpointInitiated} event before it is delivered to
+	 * any subscriber, such that the remaining events are in the future event list
+	 * before the checkpoint is taken.
+	 *
+	 * @param information interception information
+	 * @param event       intercepted event
+	 * @return always success
+	 */
+	@PreIntercept
+	public InterceptionResult preInterceptCheckpointInitiated(final InterceptorInformation information,
+			final CheckpointInitiated event) {
+		this.scheduleAll(event.time());
+		return InterceptionResult.success();
+	}
+
+	/**
+	 * Schedule all events from the snapshot, that are due within the bucket
+	 * starting at the given point in time.
+	 * 
+	 * Only {@link InterArrivalUserInitiated} events are ever deferred, and only if
+	 * the snapshot orders them by their delay at the end of all events. Thus, the
+	 * first event, that is not yet due, is held back and all events after it
+	 * remain unparsed, until the simulation time reaches its bucket.
+	 * 
+	 * @param now current simulation time.
+	 */
+	private void scheduleDue(final double now) {
+		final boolean deferrable = bucketWidth > 0 && wrapper.isOtherEventsOrderedByDelay();
+		final Iterator<DESEvent> eventsToInitOn = this.wrapper.getOtherEvents();
+
+		while (deferredEvent != null || eventsToInitOn.hasNext()) {
+			final DESEvent event = deferredEvent != null ? deferredEvent : eventsToInitOn.next();
+			deferredEvent = null;
+
+			if (deferrable && event instanceof InterArrivalUserInitiated && event.delay() >= now + bucketWidth) {
+				final double bucketStart = Math.floor(event.delay() / bucketWidth) * bucketWidth;
+				deferredEvent = event;
+				scheduling.scheduleEvent(new InitialEventsDue(bucketStart - now));
+				LOGGER.debug(String.format("Defer initial events until t = %f.", bucketStart));
+				return;
+			}
+			this.schedule(event, now);
+		}
+	}
+
+	/**
+	 * Schedule all remaining events from the snapshot, regardless of whether they
+	 * are due.
+	 * 
+	 * @param now current simulation time.
+	 */
+	private void scheduleAll(final double now) {
+		final Iterator<DESEvent> eventsToInitOn = this.wrapper.getOtherEvents();
+
+		if (deferredEvent != null) {
+			this.schedule(deferredEvent, now);
+			deferredEvent = null;
+		}
+		while (eventsToInitOn.hasNext()) {
+			this.schedule(eventsToInitOn.next(), now);
+		}
+	}
+
+	/**
+	 * Schedule a single event from the snapshot.
+	 * 
+	 * The delays of the events from the snapshot are relative to the beginning of
+	 * the simulation run. Thus, deferred {@link InterArrivalUserInitiated} events
+	 * are re-created with a delay relative to the given point in time.
+	 * 
+	 * @param event event to be scheduled.
+	 * @param now   current simulation time.
+	 */
+	private void schedule(final DESEvent event, final double now) {
+		if (isTakeCostMeasurement(event)) {
+			return;
+		}
+		if (now > 0 && event instanceof final InterArrivalUserInitiated interArrival) {
+			scheduling.scheduleEvent(new InterArrivalUserInitiated(interArrival.getEntity(),
+					Math.max(0.0, interArrival.delay() - now)));
+			return;
+		}
+		this.initOffset(event);
+		scheduling.scheduleEvent(event);
+	}
+
+	/**
+	 * Get the width of the time buckets for deferred events from the
+	 * configuration.
+	 * 
+	 * Defaults to 0, i.e. deferring events must be enabled explicitly.
+	 * 
+	 * @param config configuration of the snapshot behaviours.
+	 * @return width of the time buckets, 0 or less to not defer any events.
+	 */
+	private static double getBucketWidth(final SnapshotConfiguration config) {
+		if (config == null) {
+			return 0.0;
+		}
+		final String key = SnapshotInitFromBehaviour.class.getSimpleName();
+		if (config.getConfigurationParameters().containsKey(key)) {
+			final SnapshotBehaviourConfigurationParameters parameters = config.getConfigurationParameters().get(key);
+			if (parameters.hasParameter(EVENT_BUCKET_WIDTH, Double.class)) {
+				return parameters.getParameter(EVENT_BUCKET_WIDTH);
+			}
+		}
+		return 0.0;
 	}
 
 	@Subscribe
@@ -222,28 +388,31 @@ public class SnapshotInitFromBehaviour implements SimulationBehaviorExtension {
 
 	/**
 	 *
-	 * Extract offset (encoded into the time field of the events) from the events
+	 * Extract offset (encoded into the time field of the event) from the event
 	 * into a map and set the event's time to 0 for immediate scheduling.
+	 * 
+	 * Only applies to {@link ModelPassedEvent}s, all other events remain
+	 * unchanged.
 	 *
-	 * @param events events to extract offsets from.
+	 * @param event event to extract offsets from.
 	 */
-	private void initOffsetMap(final Set<DESEvent> events) {
-		events.stream().filter(event -> event instanceof ModelPassedEvent<?>).forEach(event -> {
-			offsetMap.put((ModelPassedEvent<?>) event, event.time());
+	private void initOffset(final DESEvent event) {
+		if (event instanceof final ModelPassedEvent<?> modelPassedEvent) {
+			offsetMap.put(modelPassedEvent, event.time());
 			event.setTime(0);
-		});
+		}
 	}
 
 	/**
-	 * Remove all {@link TakeCostMeasurement} events from the given set.
+	 * Check whether the given event is a {@link TakeCostMeasurement} event.
 	 * 
 	 * {@link TakeCostMeasurement} events must be removed, because we need cost
 	 * measurements at t = 0 of each state.
 	 *
-	 * @param events set of events to be cleansed.
-	 * @return set of events without {@link TakeCostMeasurement}
+	 * @param event event to be checked.
+	 * @return true, iff the event is a {@link TakeCostMeasurement}
 	 */
-	private Set<DESEvent> removeTakeCostMeasurement(final Set<DESEvent> events) {
-		return events.stream().filter(Predicate.not(TakeCostMeasurement.class::isInstance)).collect(Collectors.toSet());
+	private boolean isTakeCostMeasurement(final DESEvent event) {
+		return event instanceof TakeCostMeasurement;
 	}
 }
@@ -1,7 +1,6 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -15,9 +14,12 @@ import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmen
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFModelPassedElement;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UsageModelPassedElement;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserAborted;
+import org.palladiosimulator.analyzer.slingshot.common.annotations.Nullable;
 import org.palladiosimulator.analyzer.slingshot.common.utils.events.ModelPassedEvent;
 import org.palladiosimulator.analyzer.slingshot.core.api.SimulationEngine;
 import org.palladiosimulator.analyzer.slingshot.core.api.SimulationScheduling;
+import org.palladiosimulator.analyzer.slingshot.core.events.PreSimulationConfigurationStarted;
+import org.palladiosimulator.analyzer.slingshot.core.events.SimulationFinished;
 import org.palladiosimulator.analyzer.slingshot.core.extension.PCMResourceSetPartitionProvider;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.PostIntercept;
@@ -29,11 +31,17 @@ import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Intercep
 import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
 import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers.InitWrapper;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.Camera;
+import org.palladiosimulator.analyzer.slingshot.snapshot.api.CheckpointSink;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.EventRecorder;
 import org.palladiosimulator.analyzer.slingshot.snapshot.api.Snapshot;
+import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotBehaviourConfigurationParameters;
+import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotConfiguration;
 import org.palladiosimulator.analyzer.slingshot.snapshot.entities.InMemoryRecorder;
+import org.palladiosimulator.analyzer.slingshot.snapshot.entities.JournalRecorder;
 import org.palladiosimulator.analyzer.slingshot.snapshot.entities.PlainSnapshotCamera;
 import org.palladiosimulator.analyzer.slingshot.snapshot.entities.RecordedJob;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.CheckpointInitiated;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.CheckpointTaken;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotFinished;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotInitiated;
 import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotTaken;
@@ -56,6 +64,22 @@ import org.palladiosimulator.pcm.usagemodel.Stop;
  * {@link EventRecorder}.
  * 
  * For taking the actual snapshot, this class uses an instance of {@link Camera}.
+ * 
+ * By default, the events are recorded with an {@link InMemoryRecorder}. To
+ * record with a {@link JournalRecorder} instead, add the parameter
+ * {@code "journalCapacity"} with the number of journal entries as value to the
+ * configuration parameters of this class, e.g.
+ * {@code "SnapshotRecordingBehavior" : { "journalCapacity" : 65536 }}.
+ * 
+ * To take periodic checkpoints, add the parameter {@code "checkpointInterval"}
+ * with the interval in simulated seconds as value. A checkpoint is a snapshot,
+ * that is written to the {@link CheckpointSink} while the simulation
+ * continues. Checkpoints are taken before the maximum duration only, as the
+ * regular snapshot covers the end of the simulation run.
+ * 
+ * To assemble snapshots of large populations in parallel, add the parameter
+ * {@code "cameraParallelism"} with the number of threads as value. The
+ * simulation is paused while the snapshot is assembled either way.
  *
  * @author Sophie Stieß
  *
@@ -66,30 +90,47 @@ import org.palladiosimulator.pcm.usagemodel.Stop;
 @OnEvent(when = UserAborted.class, then = {})
 @OnEvent(when = SnapshotTaken.class, then = SnapshotFinished.class)
 @OnEvent(when = SnapshotInitiated.class, then = SnapshotTaken.class)
+@OnEvent(when = PreSimulationConfigurationStarted.class, then = CheckpointInitiated.class)
+@OnEvent(when = CheckpointInitiated.class, then = CheckpointTaken.class)
+@OnEvent(when = CheckpointTaken.class, then = CheckpointInitiated.class)
+@OnEvent(when = SimulationFinished.class, then = {})
 public class SnapshotRecordingBehavior implements SimulationBehaviorExtension {
 	private static final Logger LOGGER = Logger.getLogger(SnapshotRecordingBehavior.class);
 	private static final String FAKE = "fakeID";
+	private static final String JOURNAL_CAPACITY = "journalCapacity";
+	private static final String CHECKPOINT_INTERVAL = "checkpointInterval";
+	private static final String CAMERA_PARALLELISM = "cameraParallelism";
 
 	/* flags to prevent duplicate snapshots */
 	private boolean snapshotIsTaken = false;
 	private boolean snapshotIsFinished = false;
 
-	private final InMemoryRecorder recorder;
+	private final EventRecorder recorder;
 	
 	private final Camera camera;
 
 	private final SimulationScheduling scheduling;
 
+	/* periodic checkpoints, interval is 0 if no checkpoints are taken */
+	private final CheckpointSink checkpointSink;
+	private final double checkpointInterval;
+	private final double maxDuration;
+
 	@Inject
 	public SnapshotRecordingBehavior(final SimulationEngine engine, final Allocation allocation, final SimulationScheduling scheduling,
-			final PCMResourceSetPartitionProvider set, final InitWrapper wrapper) {
+			final PCMResourceSetPartitionProvider set, final InitWrapper wrapper,
+			final @Nullable SnapshotConfiguration config, final @Nullable CheckpointSink checkpointSink) {
 		// can i somehow include this in the injection part?
 		// should work with this Model and the 'bind' instruction.
 
-		this.recorder = new InMemoryRecorder();
-		this.camera = new PlainSnapshotCamera(this.recorder, engine, wrapper.getStates());
+		this.recorder = createRecorder(config);
+		this.camera = new PlainSnapshotCamera(this.recorder, engine, wrapper.getStates(), getCameraParallelism(config));
 		
 		this.scheduling = scheduling;
+
+		this.checkpointSink = checkpointSink;
+		this.checkpointInterval = checkpointSink == null ? 0.0 : getCheckpointInterval(config);
+		this.maxDuration = config == null ? Double.POSITIVE_INFINITY : config.getMaxDuration();
 	}
 
 	@Subscribe(reified = Start.class)
@@ -114,6 +155,22 @@ public class SnapshotRecordingBehavior implements SimulationBehaviorExtension {
 		this.recorder.removeFinishedCalculator(event);
 	}
 
+	/**
+	 * Abort fake jobs, that finished. This happens, if the simulation continues
+	 * after a checkpoint, and no one can handle them.
+	 * 
+	 * @param information
+	 * @param event
+	 * @return
+	 */
+	@PreIntercept
+	public InterceptionResult preInterceptJobFinished(final InterceptorInformation information, final JobFinished event) {
+		if (event.getEntity().getId().equals(FAKE)) {
+			return InterceptionResult.abort();
+		}
+		return InterceptionResult.success();
+	}
+
 	@Subscribe
 	public void removeJobRecord(final JobFinished event) {
 		this.recorder.removeJobRecord(event);
@@ -200,10 +257,24 @@ public class SnapshotRecordingBehavior implements SimulationBehaviorExtension {
 		}
 		
 		final Snapshot snapshot = camera.takeSnapshot();
+		snapshot.getMetrics().ifPresent(m -> LOGGER.info(String.format(
+				"Took snapshot of %d FCFS and %d processor sharing jobs in %.3f ms.", m.getFcfsJobs(),
+				m.getProcSharingJobs(), m.getCapturePause())));
 
 		return Result.of(new SnapshotFinished(snapshot));
 	}
 
+	/**
+	 * Shut down the camera's threads, as no more snapshots are taken once the
+	 * simulation is finished.
+	 *
+	 * @param event event to signify the end of the simulation.
+	 */
+	@Subscribe
+	public void onSimulationFinished(final SimulationFinished event) {
+		camera.close();
+	}
+
 	/**
 	 *
 	 * Trigger updates to all processor sharing resource states.
@@ -221,38 +292,143 @@ public class SnapshotRecordingBehavior implements SimulationBehaviorExtension {
 		this.snapshotIsTaken = true;
 
 		// Cast to ActiveJob is feasible, because LinkingJobs are always FCFS.
-		this.scheduleProcSharingUpdatesHelper(recorder.getProcSharingJobRecords().stream()
-				.map(record -> (ActiveJob) record.getJob()).collect(Collectors.toSet()));
+		this.scheduleProcSharingUpdatesHelper(recorder.getProcSharingJobRecordPerResource().stream()
+				.map(record -> (ActiveJob) record.getJob()).toList());
 
 		return Result.of(new SnapshotTaken(0, snapshotInitiated.getTriggeringEvent()));
 	}
 
 	/**
-	 * Schedule exactly one fake {@link JobInitiated} to each
-	 * {@link AllocationContext} with a processor sharing resource.
+	 * Schedule the first checkpoint, if periodic checkpoints are configured.
+	 * 
+	 * @param configurationStarted
+	 * @return {@link CheckpointInitiated} for the first checkpoint, or nothing.
+	 */
+	@Subscribe
+	public Result<CheckpointInitiated> onConfigurationStarted(
+			final PreSimulationConfigurationStarted configurationStarted) {
+		if (checkpointInterval > 0.0 && checkpointInterval < maxDuration) {
+			return Result.of(new CheckpointInitiated(checkpointInterval));
+		}
+		return Result.of();
+	}
+
+	/**
+	 * Trigger updates to all processor sharing resource states, just like for
+	 * the actual snapshot.
+	 * 
+	 * @param checkpointInitiated
+	 * @return event to take the checkpoint
+	 */
+	@Subscribe
+	public Result<CheckpointTaken> onCheckpointInitiated(final CheckpointInitiated checkpointInitiated) {
+		if (this.snapshotIsTaken) {
+			return Result.of();
+		}
+
+		// Cast to ActiveJob is feasible, because LinkingJobs are always FCFS.
+		this.scheduleProcSharingUpdatesHelper(recorder.getProcSharingJobRecordPerResource().stream()
+				.map(record -> (ActiveJob) record.getJob()).toList());
+
+		return Result.of(new CheckpointTaken(0));
+	}
+
+	/**
+	 * Take a checkpoint, write it to the sink and schedule the next checkpoint.
+	 * 
+	 * @param checkpointTaken
+	 * @return event for the next checkpoint, if it is still before the maximum
+	 *         duration.
+	 */
+	@Subscribe
+	public Result<CheckpointInitiated> onCheckpointTaken(final CheckpointTaken checkpointTaken) {
+		if (this.snapshotIsTaken) {
+			return Result.of();
+		}
+
+		camera.takeCheckpoint(checkpointSink::copy, snapshot -> checkpointSink.write(checkpointTaken.time(), snapshot));
+
+		if (checkpointTaken.time() + checkpointInterval < maxDuration) {
+			return Result.of(new CheckpointInitiated(checkpointInterval));
+		}
+		return Result.of();
+	}
+
+	/**
+	 * Schedule exactly one fake {@link JobInitiated} to each processor sharing
+	 * resource, i.e. for each given job.
 	 *
 	 * They are scheduled directly to the {@link SimulationScheduling}, to have them
 	 * posted before the {@link SnapshotTaken}.
 	 *
-	 * @param procSharingJobs
+	 * @param procSharingJobs one job per {@link AllocationContext} and resource
+	 *                        type with a processor sharing resource, c.f.
+	 *                        {@link EventRecorder#getProcSharingJobRecordPerResource()}
 	 */
-	private void scheduleProcSharingUpdatesHelper(final Set<ActiveJob> procSharingJobs) {
-		// these are the resource containers i must update
-		final Set<AllocationContext> allocationContexts = procSharingJobs.stream()
-				.map(job -> job.getAllocationContext()).collect(Collectors.toSet());
-
+	private void scheduleProcSharingUpdatesHelper(final List<ActiveJob> procSharingJobs) {
 		for (final ActiveJob job : procSharingJobs) {
-			final AllocationContext context = job.getAllocationContext();
-			if (!allocationContexts.contains(context)) {
-				continue;
-			}
-			allocationContexts.remove(context);
-
 			final Job updateJob = this.createFakeJob(job);
 			scheduling.scheduleEvent(new JobInitiated(updateJob));
 		}
 	}
 
+	/**
+	 * Create the recorder as configured in the parameters for this class.
+	 * 
+	 * @param config snapshot configuration, may be null.
+	 * @return {@link JournalRecorder} if a journal capacity is configured,
+	 *         {@link InMemoryRecorder} otherwise.
+	 */
+	private static EventRecorder createRecorder(final SnapshotConfiguration config) {
+		final String key = SnapshotRecordingBehavior.class.getSimpleName();
+		if (config != null && config.getConfigurationParameters().containsKey(key)) {
+			final SnapshotBehaviourConfigurationParameters parameters = config.getConfigurationParameters().get(key);
+			if (parameters.hasParameter(JOURNAL_CAPACITY, Double.class)) {
+				final double capacity = parameters.getParameter(JOURNAL_CAPACITY);
+				LOGGER.info(String.format("Recording with journal of capacity %d.", (int) capacity));
+				return new JournalRecorder((int) capacity);
+			}
+		}
+		return new InMemoryRecorder();
+	}
+
+	/**
+	 * Get the number of threads for taking snapshots as configured in the
+	 * parameters for this class.
+	 * 
+	 * @param config snapshot configuration, may be null.
+	 * @return number of threads, or 1, if none is configured.
+	 */
+	private static int getCameraParallelism(final SnapshotConfiguration config) {
+		final String key = SnapshotRecordingBehavior.class.getSimpleName();
+		if (config != null && config.getConfigurationParameters().containsKey(key)) {
+			final SnapshotBehaviourConfigurationParameters parameters = config.getConfigurationParameters().get(key);
+			if (parameters.hasParameter(CAMERA_PARALLELISM, Double.class)) {
+				final double parallelism = parameters.getParameter(CAMERA_PARALLELISM);
+				LOGGER.info(String.format("Taking snapshots with %d threads.", (int) parallelism));
+				return (int) parallelism;
+			}
+		}
+		return 1;
+	}
+
+	/**
+	 * Get the checkpoint interval as configured in the parameters for this class.
+	 * 
+	 * @param config snapshot configuration, may be null.
+	 * @return checkpoint interval, or 0, if none is configured.
+	 */
+	private static double getCheckpointInterval(final SnapshotConfiguration config) {
+		final String key = SnapshotRecordingBehavior.class.getSimpleName();
+		if (config != null && config.getConfigurationParameters().containsKey(key)) {
+			final SnapshotBehaviourConfigurationParameters parameters = config.getConfigurationParameters().get(key);
+			if (parameters.hasParameter(CHECKPOINT_INTERVAL, Double.class)) {
+				return parameters.getParameter(CHECKPOINT_INTERVAL);
+			}
+		}
+		return 0.0;
+	}
+
 	/**
 	 * Create a copy of the given job, but replace the id with
 	 * {@link SnapshotRecordingBehavior#FAKE}, such that the job can be recognised
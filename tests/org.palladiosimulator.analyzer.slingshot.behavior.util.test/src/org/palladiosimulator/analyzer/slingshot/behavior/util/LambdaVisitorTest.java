@@ -0,0 +1,59 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.common.utils.LambdaVisitor;
+
+/**
+ * 
+ * Test cases for the type dispatch of {@link LambdaVisitor}.
+ * 
+ * Execute as normal junit tests. 
+ * Execution as plugin-tests not required. 
+ * 
+ * @author Sophie Stieß
+ *
+ */
+public class LambdaVisitorTest {
+
+	/**
+	 * Test dispatch by exact class, by interface and by superclass.
+	 */
+	@Test
+	public void testDispatch() {
+		final LambdaVisitor<Object, String> visitor = new LambdaVisitor<Object, String>()
+				.on(ArrayList.class).then(l -> "arraylist")
+				.on(List.class).then(l -> "list")
+				.on(Number.class).then(n -> "number");
+
+		assertEquals("arraylist", visitor.apply(new ArrayList<>()));
+		assertEquals("list", visitor.apply(new LinkedList<>()));
+		assertEquals("number", visitor.apply(Integer.valueOf(1)));
+		assertNull(visitor.apply("string"));
+	}
+
+	/**
+	 * Test, that functions registered after the first application are used.
+	 */
+	@Test
+	public void testRegisterAfterApply() {
+		final LambdaVisitor<Object, String> visitor = new LambdaVisitor<Object, String>()
+				.on(Number.class).then(n -> "number");
+
+		assertEquals("number", visitor.apply(Integer.valueOf(1)));
+		assertNull(visitor.apply("string"));
+
+		visitor.on(Integer.class).then(i -> "integer");
+		visitor.on(Object.class).then(o -> "object");
+
+		assertEquals("integer", visitor.apply(Integer.valueOf(1)));
+		assertEquals("number", visitor.apply(Long.valueOf(1)));
+		assertEquals("object", visitor.apply("string"));
+	}
+}
@@ -0,0 +1,142 @@
+package org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialiser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.Compression;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.configuration.SnapshotFormat;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.serialisation.InitState;
+import org.palladiosimulator.analyzer.slingshot.snapshot.entities.PlainSnapshot;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.pcm.allocation.AllocationFactory;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ *
+ * Tests for writing delta snapshots with {@link InitStateDeSerialization}.
+ *
+ * Execute as normal junit tests.
+ * Execution as plugin-tests not required.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public class InitStateDeSerializationTest {
+
+	private static final String PARENT = "parent";
+
+	/**
+	 * Check that a delta, that is written over its own parent through the
+	 * {@link PersistenceExecutor}, is written in full instead of referencing
+	 * itself.
+	 */
+	@Test
+	public void testDeltaReplacesParent(@TempDir final Path directory) throws IOException {
+		final InitStateDeSerialization serialization = createSerialization(directory);
+		final Path snapshot = directory.resolve("state.snapshot");
+		serialization.serialize(createState("first"), snapshot);
+
+		final PersistenceExecutor persistence = new PersistenceExecutor();
+		persistence.persist((state, path) -> serialization.serializeDelta(state, snapshot, path, snapshot),
+				createState("second"), snapshot);
+		persistence.shutdown().join();
+
+		assertFalse(readJson(snapshot).has(PARENT));
+		assertEquals("second", serialization.deserialize(snapshot).getId());
+	}
+
+	/**
+	 * Check that a delta, that is written over an ancestor of its parent, is
+	 * written in full instead of closing a cycle.
+	 */
+	@Test
+	public void testDeltaReplacesAncestor(@TempDir final Path directory) throws IOException {
+		final InitStateDeSerialization serialization = createSerialization(directory);
+		final Path first = directory.resolve("first.snapshot");
+		final Path second = directory.resolve("second.snapshot");
+		serialization.serialize(createState("first"), first);
+		serialization.serializeDelta(createState("second"), first, second);
+		assertTrue(readJson(second).has(PARENT));
+
+		final PersistenceExecutor persistence = new PersistenceExecutor();
+		persistence.persist((state, path) -> serialization.serializeDelta(state, second, path, first),
+				createState("third"), first);
+		persistence.shutdown().join();
+
+		assertFalse(readJson(first).has(PARENT));
+		assertEquals("third", serialization.deserialize(first).getId());
+		assertEquals("second", serialization.deserialize(second).getId());
+	}
+
+	/**
+	 * Check that a delta, that is written through the {@link PersistenceExecutor},
+	 * references its parent relative to the target, not to the temporary file.
+	 */
+	@Test
+	public void testDeltaReferencesParent(@TempDir final Path directory) throws IOException {
+		final InitStateDeSerialization serialization = createSerialization(directory);
+		final Path first = directory.resolve("first.snapshot");
+		final Path second = directory.resolve("second.snapshot");
+		serialization.serialize(createState("first"), first);
+
+		final PersistenceExecutor persistence = new PersistenceExecutor();
+		persistence.persist((state, path) -> serialization.serializeDelta(state, first, path, second),
+				createState("second"), second);
+		persistence.shutdown().join();
+
+		assertEquals("first.snapshot", readJson(second).get(PARENT).getAsString());
+		assertEquals("second", serialization.deserialize(second).getId());
+	}
+
+	/**
+	 * Check that a state, that is captured and then serialized through the
+	 * {@link PersistenceExecutor}, is written just like a state serialized
+	 * directly.
+	 */
+	@Test
+	public void testCapturedEqualsSerialized(@TempDir final Path directory) throws IOException {
+		final InitStateDeSerialization serialization = createSerialization(directory);
+		final Path direct = directory.resolve("direct.snapshot");
+		final Path captured = directory.resolve("captured.snapshot");
+		serialization.serialize(createState("first"), direct);
+
+		final PersistenceExecutor persistence = new PersistenceExecutor();
+		persistence.persistCaptured(serialization::serializeCaptured,
+				() -> serialization.capture(createState("first")), captured);
+		persistence.shutdown().join();
+
+		assertEquals(Files.readString(direct), Files.readString(captured));
+	}
+
+	private static InitStateDeSerialization createSerialization(final Path directory) {
+		final PCMResourceSetPartition partition = new PCMResourceSetPartition();
+		final Resource resource = new XMIResourceImpl(
+				URI.createFileURI(directory.resolve("test.allocation").toString()));
+		resource.getContents().add(AllocationFactory.eINSTANCE.createAllocation());
+		partition.getResourceSet().getResources().add(resource);
+
+		return new InitStateDeSerialization(partition, SnapshotFormat.JSON, Compression.NONE,
+				InitStateDeSerialization.DEFAULT_MAX_CHAIN_LENGTH);
+	}
+
+	private static InitState createState(final String id) {
+		return new InitState(1.0, new PlainSnapshot(Set.of(), Set.of()), id);
+	}
+
+	private static JsonObject readJson(final Path path) throws IOException {
+		return JsonParser.parseString(Files.readString(path)).getAsJsonObject();
+	}
+}
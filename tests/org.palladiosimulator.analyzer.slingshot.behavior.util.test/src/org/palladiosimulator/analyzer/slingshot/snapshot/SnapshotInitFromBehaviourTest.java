@@ -0,0 +1,101 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.interpretationcontext.OpenWorkloadUserInterpretationContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.InterArrivalUserInitiated;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.core.events.SimulationStarted;
+import org.palladiosimulator.analyzer.slingshot.initialisedsimulation.providers.InitWrapper;
+import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotBehaviourConfigurationParameters;
+import org.palladiosimulator.analyzer.slingshot.snapshot.configuration.SnapshotConfiguration;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.CheckpointInitiated;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.InitialEventsDue;
+import org.palladiosimulator.analyzer.slingshot.snapshot.events.SnapshotInitiated;
+
+/**
+ *
+ * Tests for the deferred materialisation of events in
+ * {@link SnapshotInitFromBehaviour}.
+ *
+ * Execute as normal junit tests.
+ * Execution as plugin-tests not required.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public class SnapshotInitFromBehaviourTest {
+
+	private static final double BUCKET_WIDTH = 10.0;
+	private static final double MAX_DURATION = 100.0;
+
+	/**
+	 * Check that a snapshot, that is initiated while events are still deferred,
+	 * materialises the deferred events before the snapshot is delivered to any
+	 * subscriber, i.e. before the camera scans the future event list.
+	 */
+	@Test
+	public void testSnapshotWhileDeferred() {
+		final List<DESEvent> scheduled = new ArrayList<>();
+		final SnapshotInitFromBehaviour behaviour = createBehaviour(scheduled, 15.0, 25.0, 35.0);
+
+		behaviour.onSimulationStarted(new SimulationStarted());
+		assertEquals(1, scheduled.size());
+		assertTrue(scheduled.get(0) instanceof InitialEventsDue);
+
+		behaviour.preInterceptSnapshotInitiated(null, new SnapshotInitiated(5.0));
+		assertEquals(4, scheduled.size());
+		assertTrue(scheduled.subList(1, 4).stream().allMatch(InterArrivalUserInitiated.class::isInstance));
+
+		/* intercepted once per subscriber, must not schedule anything again */
+		behaviour.preInterceptSnapshotInitiated(null, new SnapshotInitiated(5.0));
+		assertEquals(4, scheduled.size());
+	}
+
+	/**
+	 * Check that a checkpoint, that is initiated while events are still deferred,
+	 * materialises the deferred events before the checkpoint is delivered to any
+	 * subscriber.
+	 */
+	@Test
+	public void testCheckpointWhileDeferred() {
+		final List<DESEvent> scheduled = new ArrayList<>();
+		final SnapshotInitFromBehaviour behaviour = createBehaviour(scheduled, 15.0, 25.0);
+
+		behaviour.onSimulationStarted(new SimulationStarted());
+		assertEquals(1, scheduled.size());
+
+		behaviour.preInterceptCheckpointInitiated(null, new CheckpointInitiated(5.0));
+		assertEquals(3, scheduled.size());
+		assertTrue(scheduled.subList(1, 3).stream().allMatch(InterArrivalUserInitiated.class::isInstance));
+	}
+
+	/**
+	 * Create a behaviour that defers the {@link InterArrivalUserInitiated} events
+	 * with the given delays, and records all scheduled events in the given list.
+	 */
+	private static SnapshotInitFromBehaviour createBehaviour(final List<DESEvent> scheduled,
+			final double... delays) {
+		final List<DESEvent> events = new ArrayList<>();
+		for (final double delay : delays) {
+			events.add(new InterArrivalUserInitiated(OpenWorkloadUserInterpretationContext.builder().build(), delay));
+		}
+		final InitWrapper wrapper = new InitWrapper(List.of(), Set.of(), events.iterator(), true);
+
+		final Map<String, Object> parameters = new HashMap<>();
+		parameters.put(SnapshotInitFromBehaviour.EVENT_BUCKET_WIDTH, BUCKET_WIDTH);
+		final SnapshotConfiguration config = new SnapshotConfiguration(true, MAX_DURATION,
+				Map.of(SnapshotInitFromBehaviour.class.getSimpleName(),
+						new SnapshotBehaviourConfigurationParameters(parameters)));
+
+		return new SnapshotInitFromBehaviour(config, wrapper, scheduled::add);
+	}
+}
@@ -0,0 +1,162 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EObject;
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.User;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.interpretationcontext.ClosedWorkloadUserInterpretationContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UsageModelPassedElement;
+import org.palladiosimulator.analyzer.slingshot.common.utils.events.ModelPassedEvent;
+import org.palladiosimulator.pcm.usagemodel.UsagemodelFactory;
+
+/**
+ *
+ * Test cases for the open addressing of {@link OpenCalculatorStore}.
+ *
+ * Execute as normal junit tests, as the store is package-private.
+ * Execution as plugin-tests not required.
+ *
+ * @author Sophie Stieß
+ *
+ */
+public class OpenCalculatorStoreTest {
+
+	/* more than the initial capacity of the store, to force it to grow. */
+	private static final int USERS = 20;
+	private static final int CONTAINERS = 10;
+
+	/**
+	 * Test put, replace, remove and removeAll, across the growth of the store,
+	 * against a {@link LinkedHashMap} as reference.
+	 */
+	@Test
+	public void testAcrossGrow() {
+		final OpenCalculatorStore store = new OpenCalculatorStore();
+		final Map<List<Object>, ModelPassedEvent<?>> expected = new LinkedHashMap<>();
+
+		final List<User> users = new ArrayList<>();
+		final List<EObject> containers = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			users.add(new User());
+		}
+		for (int i = 0; i < CONTAINERS; i++) {
+			containers.add(UsagemodelFactory.eINSTANCE.createScenarioBehaviour());
+		}
+
+		/* put, interleaved by user, such that the slots of each user are scattered */
+		for (final EObject container : containers) {
+			for (final User user : users) {
+				put(store, expected, user, container);
+			}
+		}
+		assertStoreEquals(expected.values(), store);
+
+		/* replace, must neither add nor move entries */
+		for (final User user : users.subList(0, USERS / 2)) {
+			put(store, expected, user, containers.get(0));
+		}
+		assertStoreEquals(expected.values(), store);
+
+		/* remove single entries */
+		for (final User user : users) {
+			store.remove(user, containers.get(1));
+			expected.remove(List.of(user, containers.get(1)));
+		}
+		/* removing an absent entry has no effect */
+		store.remove(users.get(0), containers.get(1));
+		store.remove(new User(), containers.get(2));
+		assertStoreEquals(expected.values(), store);
+
+		/* remove all entries of some users */
+		for (final User user : users.subList(0, USERS / 2)) {
+			store.removeAll(user);
+			expected.keySet().removeIf(key -> key.get(0) == user);
+		}
+		store.removeAll(new User());
+		assertStoreEquals(expected.values(), store);
+
+		/* removed entries can be put again */
+		for (final User user : users.subList(0, USERS / 2)) {
+			put(store, expected, user, containers.get(1));
+		}
+		assertStoreEquals(expected.values(), store);
+
+		for (final User user : users) {
+			store.removeAll(user);
+		}
+		assertTrue(store.values().isEmpty());
+	}
+
+	/**
+	 * Test removeAll, if removing the first slot of a user moves the next slot
+	 * of that user, because the next slot is the last slot.
+	 */
+	@Test
+	public void testRemoveAllNextIsLast() {
+		final OpenCalculatorStore store = new OpenCalculatorStore();
+
+		final User removed = new User();
+		final User other = new User();
+		final User kept = new User();
+		final EObject first = UsagemodelFactory.eINSTANCE.createScenarioBehaviour();
+		final EObject second = UsagemodelFactory.eINSTANCE.createScenarioBehaviour();
+
+		final ModelPassedEvent<?> keptEvent = createEvent();
+
+		store.put(other, first, createEvent());
+		store.put(kept, first, keptEvent);
+		store.put(removed, first, createEvent());
+		store.put(removed, second, createEvent());
+
+		/* moves (removed, second) into slot 0, its next slot (removed, first) is the last slot */
+		store.remove(other, first);
+		store.removeAll(removed);
+
+		assertEquals(1, store.values().size());
+		assertTrue(store.values().contains(keptEvent));
+
+		/* the store is still consistent */
+		store.put(removed, first, createEvent());
+		store.removeAll(removed);
+		store.remove(kept, first);
+		assertTrue(store.values().isEmpty());
+	}
+
+	private static void put(final OpenCalculatorStore store, final Map<List<Object>, ModelPassedEvent<?>> expected,
+			final User user, final EObject container) {
+		final ModelPassedEvent<?> event = createEvent();
+		store.put(user, container, event);
+		expected.put(List.of(user, container), event);
+	}
+
+	private static ModelPassedEvent<?> createEvent() {
+		return new UsageModelPassedElement<>(UsagemodelFactory.eINSTANCE.createStart(),
+				ClosedWorkloadUserInterpretationContext.builder().build());
+	}
+
+	/**
+	 * Assert that the store holds exactly the expected events, by identity.
+	 */
+	private static void assertStoreEquals(final Collection<ModelPassedEvent<?>> expected,
+			final OpenCalculatorStore store) {
+		final Set<ModelPassedEvent<?>> actual = Collections.newSetFromMap(new IdentityHashMap<>());
+		actual.addAll(store.values());
+
+		assertEquals(expected.size(), store.values().size());
+		assertEquals(expected.size(), actual.size());
+		for (final ModelPassedEvent<?> event : expected) {
+			assertTrue(actual.contains(event));
+		}
+	}
+}
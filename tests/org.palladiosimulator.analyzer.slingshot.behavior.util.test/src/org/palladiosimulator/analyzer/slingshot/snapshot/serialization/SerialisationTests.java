@@ -1,13 +1,35 @@
 package org.palladiosimulator.analyzer.slingshot.snapshot.serialization;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.EList;
@@ -19,12 +41,20 @@ import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entiti
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.SeffBehaviorWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.interpretationcontext.ClosedWorkloadUserInterpretationContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.interpretationcontext.UserInterpretationContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.ClosedWorkloadUserInitiated;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UsageModelPassedElement;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.core.events.SimulationStarted;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.ClassTypeAdapter;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.EObjectTypeAdapter;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.ModelElementIndex;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.adapters.TypeTokenTypeAdapter;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary.BinaryFormat;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary.BinaryJsonReader;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary.BinaryJsonWriter;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.binary.SnapshotFormatConverter;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.data.MapEntity;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.data.ModelReferenceEvent;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.data.ReferenceEntity;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.data.SimpleEntity;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.data.SimpleGenericEvent;
@@ -33,6 +63,8 @@ import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories.ElistTypeAdapterFactory;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories.EntityTypeAdapterFactory;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.factories.OptionalTypeAdapterFactory;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.DESEventSerializer;
+import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.SerialisationDocument;
 import org.palladiosimulator.analyzer.slingshot.snapshot.serialization.util.SnapshotSerialisationUtils;
 import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
@@ -43,7 +75,10 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * 
@@ -165,6 +200,8 @@ public class SerialisationTests {
 	 * Test for consistent (de-)serialisation of optionals, if the entitiy inside
 	 * the optional is also sserialised on its own, i.e. the optional only contains
 	 * a reference.
+	 * 
+	 * References across multiple calls require a document.
 	 */
 	@Test
 	public void testOptionalWithReference() {
@@ -174,8 +211,12 @@ public class SerialisationTests {
 		final SimpleEntity entity = new SimpleEntity("entity");
 		final Optional<SimpleEntity> optional = Optional.of(entity);
 		
-		final JsonElement actualEntity = writegson.toJsonTree(entity);
-		final JsonElement actualOptional = writegson.toJsonTree(optional);
+		final JsonElement actualEntity;
+		final JsonElement actualOptional;
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			actualEntity = writegson.toJsonTree(entity);
+			actualOptional = writegson.toJsonTree(optional);
+		}
 		
 		assertTrue(actualEntity.isJsonObject());
 		final JsonObject actualEntityObj = actualEntity.getAsJsonObject();
@@ -198,8 +239,12 @@ public class SerialisationTests {
 		assertEquals(actualEntityObj.get(EntityTypeAdapterFactory.FIELD_NAME_ID_FOR_REFERENCE), actualOptionalValueObj.get(OptionalTypeAdapterFactory.REFERENCE_FIELD));
 		
 		
-		final SimpleEntity actualReadEntity = readgson.fromJson(actualEntity,new TypeToken<SimpleEntity>() {}.getType());
-		final Optional<SimpleEntity> actualReadOptional = readgson.fromJson(actualOptional, new TypeToken<Optional<SimpleEntity>>() {}.getType());
+		final SimpleEntity actualReadEntity;
+		final Optional<SimpleEntity> actualReadOptional;
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			actualReadEntity = readgson.fromJson(actualEntity,new TypeToken<SimpleEntity>() {}.getType());
+			actualReadOptional = readgson.fromJson(actualOptional, new TypeToken<Optional<SimpleEntity>>() {}.getType());
+		}
 		
 		assertTrue(actualReadOptional.isPresent());
 		assertTrue(actualReadEntity == actualReadOptional.get()); // actual reference equality
@@ -228,6 +273,27 @@ public class SerialisationTests {
 		assertTrue(actualEntity.getEntity1() == actualEntity.getEntity2());		
 	}
 	
+	/**
+	 * Check that references do not outlive a top-level write, if no document is
+	 * bound, i.e. each write contains the entity in full.
+	 */
+	@Test
+	public void testEntityReferencesWithoutDocument() {
+		final Gson writegson = new GsonBuilder().registerTypeAdapterFactory(new EntityTypeAdapterFactory(Set.of(new TypeToken<SimpleEntity>() {}, new TypeToken<ReferenceEntity>() {}))).create();
+		final Gson readgson = new GsonBuilder().registerTypeAdapterFactory(new EntityTypeAdapterFactory(Set.of(new TypeToken<SimpleEntity>() {}, new TypeToken<ReferenceEntity>() {}))).create();
+
+		final SimpleEntity simple = new SimpleEntity("value");
+		final ReferenceEntity entity = new ReferenceEntity(simple, simple);
+
+		final String first = writegson.toJson(entity);
+		final String second = writegson.toJson(entity);
+		assertEquals(first, second);
+
+		final ReferenceEntity actualEntity = readgson.fromJson(second, ReferenceEntity.class);
+		assertEquals(entity, actualEntity);
+		assertTrue(actualEntity.getEntity1() == actualEntity.getEntity2());
+	}
+
 	/**
 	 * Check correct (de-)serialization of a simple entity with the
 	 * {@link EntityTypeAdapterFactory}.
@@ -352,7 +418,168 @@ public class SerialisationTests {
 		assertEquals(event.time(), actualEvent.time());
 		assertEquals(event.delay(), actualEvent.delay());
 	}
-	
+
+	/**
+	 * Check whether the time of an event is written as its delay, if the event's
+	 * remaining delay is carried in its time.
+	 */
+	@Test
+	public void testDelayFromTimeDESEvent() {
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(new DESEventTypeAdapterFactory(Set.of(), Set.of(SimulationStarted.class)))
+				.create();
+
+		final DESEvent event = new SimulationStarted();
+		event.setTime(5.0);
+
+		final DESEvent actualEvent = gson.fromJson(gson.toJsonTree(event), SimulationStarted.class);
+
+		assertEquals(5.0, actualEvent.delay());
+		assertEquals(0.0, event.delay());
+	}
+
+	/**
+	 * Check whether the time of a {@link ClosedWorkloadUserInitiated} is written
+	 * as its delay, with the type token sets of the actual simulation.
+	 */
+	@Test
+	public void testDelayFromTimeClosedWorkloadUserInitiated() {
+		final Gson gson = SnapshotSerialisationUtils.createGsonForSlingshot(helper.set);
+
+		final ClosedWorkloadUserInitiated event = new ClosedWorkloadUserInitiated(
+				ClosedWorkloadUserInterpretationContext.builder().build(), 0.0);
+		event.setTime(5.0);
+
+		final ClosedWorkloadUserInitiated actualEvent = gson.fromJson(gson.toJsonTree(event),
+				ClosedWorkloadUserInitiated.class);
+
+		assertEquals(5.0, actualEvent.delay());
+		assertEquals(0.0, event.delay());
+		assertTrue(ClosedWorkloadUserInterpretationContext.class.isInstance(actualEvent.getEntity()));
+	}
+
+	/**
+	 * Check that values with maps are read from the binary format with the regular
+	 * Gson adapters, and that nulls are dropped just like in JSON.
+	 */
+	@Test
+	public void testBinaryRoundTrip() throws IOException {
+		final Gson gson = new GsonBuilder().create();
+
+		final Map<String, SimpleEntity> entities = new LinkedHashMap<>();
+		entities.put("first", new SimpleEntity("value"));
+		entities.put("second", new SimpleEntity("value"));
+		final MapEntity entity = new MapEntity(entities, null);
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final JsonWriter writer = new BinaryJsonWriter(bytes, gson)) {
+			gson.toJson(entity, MapEntity.class, writer);
+		}
+
+		try (final JsonReader reader = new BinaryJsonReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(entity, gson.fromJson(reader, MapEntity.class));
+		}
+
+		final StringWriter json = new StringWriter();
+		try (final JsonReader reader = new BinaryJsonReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			SnapshotFormatConverter.copy(reader, new JsonWriter(json));
+		}
+		assertEquals(gson.toJson(entity), json.toString());
+	}
+
+	/**
+	 * Check that the binary writer applies the same settings as Gson's JSON
+	 * writer, and supports raw JSON values.
+	 */
+	@Test
+	public void testBinaryWriterSettings() throws IOException {
+		final Gson gson = new GsonBuilder().create();
+
+		try (final JsonWriter writer = new BinaryJsonWriter(new ByteArrayOutputStream(), gson)) {
+			assertThrows(IllegalArgumentException.class, () -> writer.value(Double.NaN));
+			assertThrows(IllegalArgumentException.class, () -> writer.value(Double.POSITIVE_INFINITY));
+		}
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final JsonWriter writer = new BinaryJsonWriter(bytes, gson)) {
+			writer.beginObject();
+			writer.name("raw").jsonValue("{\"a\":[1,2.5,\"b\"]}");
+			writer.name("dropped").nullValue();
+			writer.endObject();
+		}
+
+		final StringWriter json = new StringWriter();
+		try (final JsonReader reader = new BinaryJsonReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			SnapshotFormatConverter.copy(reader, new JsonWriter(json));
+		}
+		assertEquals("{\"raw\":{\"a\":[1,2.5,\"b\"]}}", json.toString());
+	}
+
+	/**
+	 * Check that the initial dictionary is read from the header, and that
+	 * strings of the dictionary are read as if they were written inline.
+	 */
+	@Test
+	public void testBinaryDictionary() throws IOException {
+		final Gson gson = new GsonBuilder().create();
+		final String json = "{\"events\":[{\"type\":\"a.b.C\",\"event\":{\"delay\":1.5}},"
+				+ "{\"type\":\"a.b.D\",\"event\":{\"a.b.C\":\"a.b.D\"}}]}";
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final JsonWriter writer = new BinaryJsonWriter(bytes, gson, List.of("a.b.D", "a.b.C", "a.b.D"))) {
+			writer.jsonValue(json);
+		}
+
+		try (final BinaryJsonReader reader = new BinaryJsonReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertIterableEquals(List.of("a.b.D", "a.b.C"), reader.getInitialDictionary());
+			assertEquals(JsonParser.parseString(json), JsonParser.parseReader(reader));
+		}
+
+		final ByteArrayOutputStream inline = new ByteArrayOutputStream();
+		try (final JsonWriter writer = new BinaryJsonWriter(inline, gson)) {
+			writer.jsonValue(json);
+		}
+		try (final BinaryJsonReader reader = new BinaryJsonReader(new ByteArrayInputStream(inline.toByteArray()))) {
+			assertTrue(reader.getInitialDictionary().isEmpty());
+			reader.beginObject();
+			assertEquals("events", reader.nextName());
+			reader.skipValue();
+			assertEquals("$.events", reader.getPath());
+			reader.endObject();
+		}
+	}
+
+	/**
+	 * Check that converting JSON to the binary format and back yields the same
+	 * JSON.
+	 */
+	@Test
+	public void testBinaryConversion() throws IOException {
+		final String expected = "{\"events\":[{\"type\":\"a.b.C\",\"event\":{\"delay\":1.5E300,\"id\":-42}},"
+				+ "{\"type\":\"a.b.C\",\"event\":{\"delay\":0.1,\"id\":12345678901234567890}}],"
+				+ "\"statevalues\":[\"quote\\\" and\\nnewline\",\"\u00fc\u20ac\",true,false,null,[],{}]}";
+
+		final Path json = Files.createTempFile("snapshot", ".json");
+		final Path binary = Files.createTempFile("snapshot", ".bin");
+		final Path actual = Files.createTempFile("snapshot", ".json");
+		try {
+			Files.writeString(json, expected, StandardCharsets.UTF_8);
+
+			SnapshotFormatConverter.toBinary(json, binary);
+			try (final InputStream in = new BufferedInputStream(Files.newInputStream(binary))) {
+				assertTrue(BinaryFormat.isBinary(in));
+			}
+			assertTrue(Files.size(binary) < Files.size(json));
+
+			SnapshotFormatConverter.toJson(binary, actual);
+			assertEquals(JsonParser.parseString(expected), JsonParser.parseString(Files.readString(actual, StandardCharsets.UTF_8)));
+		} finally {
+			Files.deleteIfExists(json);
+			Files.deleteIfExists(binary);
+			Files.deleteIfExists(actual);
+		}
+	}
+
 	@Test
 	public void testElistTypeAdapterEmptyList() throws IOException {
 		final EList<EObject> list = new BasicEList<>();
@@ -418,6 +645,148 @@ public class SerialisationTests {
 		assertEquals(prefix + filelocation, (new EObjectTypeAdapter(helper.set)).fromJson(expected).eResource().getURI().toFileString());
 	}
 	
+	/**
+	 * Check that the index reports model elements as missing, once they were
+	 * moved or removed after the index was built.
+	 */
+	@Test
+	public void testModelElementIndexChangedModel() {
+		final String filelocation = "foo.bar";
+
+		final UsageModel model = helper.createUsageModel();
+		final List<AbstractUserAction> actions = model.getUsageScenario_UsageModel().get(0).getScenarioBehaviour_UsageScenario().getActions_ScenarioBehaviour();
+		final AbstractUserAction moved = actions.get(0);
+		final AbstractUserAction removed = actions.get(1);
+		moved.setId("moved");
+		removed.setId("removed");
+		model.eResource().setURI(URI.createFileURI(filelocation));
+
+		final ModelElementIndex index = ModelElementIndex.of(helper.set, resource -> true);
+		assertSame(moved, index.find(filelocation, "moved"));
+		assertSame(removed, index.find(filelocation, "removed"));
+
+		moved.setId("other");
+		actions.remove(removed);
+
+		assertNull(index.find(filelocation, "moved"));
+		assertNull(index.find(filelocation, "removed"));
+		assertSame(index, ModelElementIndex.of(helper.set));
+	}
+
+	/**
+	 * Check that model elements are written only once per document, and that
+	 * later references are resolved to the same model element.
+	 */
+	@Test
+	public void testEObjectAdapterDocument() throws IOException {
+		final String filelocation = "foo.bar";
+		final String elementId = "id";
+
+		final UsageModel model = helper.createUsageModel();
+		final AbstractUserAction action = model.getUsageScenario_UsageModel().get(0).getScenarioBehaviour_UsageScenario().getActions_ScenarioBehaviour().get(0);
+		action.setId(elementId);
+		model.eResource().setURI(URI.createFileURI(filelocation));
+
+		final EObjectTypeAdapter adapter = new EObjectTypeAdapter(helper.set);
+
+		final JsonElement first;
+		final JsonElement second;
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			first = adapter.toJsonTree(action);
+			second = adapter.toJsonTree(action);
+		}
+
+		assertEquals(filelocation + "#" + elementId, first.getAsString());
+		assertTrue(second.getAsJsonPrimitive().isNumber());
+
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			assertEquals(action, adapter.fromJsonTree(first));
+			assertEquals(action, adapter.fromJsonTree(second));
+		}
+
+		assertEquals(first, adapter.toJsonTree(action)); // no document, no reference.
+	}
+
+	/**
+	 * Check that skipping an event discards the model elements it already added
+	 * to the document's dictionary, such that later references remain resolvable.
+	 */
+	@Test
+	public void testSkippedEventDocument() {
+		final UsageModel model = helper.createUsageModel();
+		final AbstractUserAction action = model.getUsageScenario_UsageModel().get(0).getScenarioBehaviour_UsageScenario().getActions_ScenarioBehaviour().get(0);
+		action.setId("id");
+		model.eResource().setURI(URI.createFileURI("foo.bar"));
+
+		final UsageModel detachedModel = helper.createUsageModel();
+		detachedModel.eResource().getContents().clear();
+		final EObject detached = detachedModel.getUsageScenario_UsageModel().get(0);
+
+		final Gson gson = new GsonBuilder()
+				.registerTypeHierarchyAdapter(EObject.class, new EObjectTypeAdapter(helper.set))
+				.registerTypeAdapterFactory(new DESEventTypeAdapterFactory(Set.of(TypeToken.get(ModelReferenceEvent.class))))
+				.create();
+		final Type type = new TypeToken<List<DESEvent>>() {}.getType();
+
+		final List<DESEvent> events = List.of(new ModelReferenceEvent(List.of(action, detached)),
+				new ModelReferenceEvent(List.of(action, action)));
+
+		final String json;
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			json = gson.toJson(events, type);
+		}
+
+		final List<DESEvent> actual;
+		try (final SerialisationDocument.Scope scope = new SerialisationDocument().enter()) {
+			actual = gson.fromJson(json, type);
+		}
+
+		assertEquals(1, actual.size());
+		assertEquals(List.of(action, action), ((ModelReferenceEvent) actual.get(0)).getElements());
+	}
+
+	/**
+	 * Check that events serialized one by one are canonical, i.e. events that only
+	 * differ in their ids yield the same JSON, and that entities shared across
+	 * events are read as the same entity again.
+	 */
+	@Test
+	public void testSerializeEach() {
+		final DESEventSerializer serializer = new DESEventSerializer(helper.set);
+		final ClosedWorkloadUserInterpretationContext context = ClosedWorkloadUserInterpretationContext.builder()
+				.build();
+
+		final Map<String, JsonElement> blobs = new HashMap<>();
+		final Function<JsonElement, String> sink = json -> {
+			final String name = Integer.toHexString(json.toString().hashCode());
+			blobs.put(name, json);
+			return name;
+		};
+
+		final List<String> names = serializer.serializeEach(new LinkedHashSet<>(
+				List.of(new ClosedWorkloadUserInitiated(context, 1.0), new ClosedWorkloadUserInitiated(context, 2.0))),
+				sink);
+		final List<String> otherNames = serializer.serializeEach(new LinkedHashSet<>(
+				List.of(new ClosedWorkloadUserInitiated(context, 1.0), new ClosedWorkloadUserInitiated(context, 2.0))),
+				sink);
+
+		assertEquals(2, names.size());
+		assertEquals(names, otherNames);
+		assertFalse(blobs.get(names.get(0)).getAsJsonObject().getAsJsonObject("event").has("id"));
+		// the second event references the context of the first event by the first event's name.
+		assertTrue(blobs.get(names.get(1)).toString().contains(names.get(0) + ":"));
+
+		final List<DESEvent> actual = new ArrayList<>();
+		serializer.deserializeEach(names.iterator(), name -> new JsonReader(new StringReader(blobs.get(name).toString())))
+				.forEachRemaining(actual::add);
+
+		assertEquals(2, actual.size());
+		assertSame(((ClosedWorkloadUserInitiated) actual.get(0)).getEntity(),
+				((ClosedWorkloadUserInitiated) actual.get(1)).getEntity());
+		assertNotNull(actual.get(0).getId());
+		assertNotEquals(actual.get(0).getId(), actual.get(1).getId());
+	}
+
 	/**
 	 * Check that model without resource throw an exception.
 	 */
@@ -0,0 +1,26 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.data;
+
+import java.util.Map;
+import java.util.Objects;
+
+public class MapEntity {
+	public Map<String, SimpleEntity> entities;
+	public String optional;
+
+	public MapEntity(final Map<String, SimpleEntity> entities, final String optional) {
+		this.entities = entities;
+		this.optional = optional;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final MapEntity other = (MapEntity) obj;
+		return Objects.equals(entities, other.entities) && Objects.equals(optional, other.optional);
+	}
+}
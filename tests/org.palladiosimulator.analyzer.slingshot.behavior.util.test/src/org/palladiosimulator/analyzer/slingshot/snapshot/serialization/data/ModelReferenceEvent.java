@@ -0,0 +1,19 @@
+package org.palladiosimulator.analyzer.slingshot.snapshot.serialization.data;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+
+public class ModelReferenceEvent extends AbstractSimulationEvent {
+
+	private final List<EObject> elements;
+
+	public ModelReferenceEvent(final List<EObject> elements) {
+		this.elements = elements;
+	}
+
+	public List<EObject> getElements() {
+		return elements;
+	}
+}